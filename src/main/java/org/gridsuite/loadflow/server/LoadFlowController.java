@@ -6,6 +6,7 @@
  */
 package org.gridsuite.loadflow.server;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.powsybl.contingency.violations.LimitViolationType;
 import com.powsybl.iidm.network.ThreeSides;
 import com.powsybl.loadflow.LoadFlowResult.ComponentResult.Status;
@@ -17,22 +18,31 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import org.apache.commons.lang3.tuple.Pair;
 import org.gridsuite.computation.dto.ReportInfos;
 import org.gridsuite.computation.service.UuidGeneratorService;
+import org.gridsuite.computation.utils.FilterUtils;
 import org.gridsuite.loadflow.server.dto.*;
 import org.gridsuite.loadflow.server.dto.modifications.LoadFlowModificationInfos;
+import org.gridsuite.loadflow.server.service.BufferedLoadFlowModifications;
+import org.gridsuite.loadflow.server.service.LoadFlowModificationsRecorder;
 import org.gridsuite.loadflow.server.service.LoadFlowResultService;
 import org.gridsuite.loadflow.server.service.LoadFlowRunContext;
 import org.gridsuite.loadflow.server.service.LoadFlowService;
 import org.gridsuite.loadflow.server.service.LoadFlowWorkerService;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.net.URLDecoder;
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.*;
+import java.util.function.Supplier;
 
 import static org.gridsuite.computation.service.NotificationService.HEADER_USER_ID;
+import static org.springframework.http.MediaType.APPLICATION_CBOR_VALUE;
 import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
 
 /**
@@ -43,14 +53,20 @@ import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
 @Tag(name = "loadflow-server")
 public class LoadFlowController {
 
+    // the providers only change with a new deployment of the server
+    private static final CacheControl PROVIDERS_CACHE_CONTROL = CacheControl.maxAge(Duration.ofHours(1));
+
     private final LoadFlowService loadFlowService;
     private final UuidGeneratorService uuidGeneratorService;
     private final LoadFlowResultService loadFlowResultService;
+    private final ObjectMapper objectMapper;
 
-    public LoadFlowController(LoadFlowService loadFlowService, LoadFlowResultService loadFlowResultService, UuidGeneratorService uuidGeneratorService) {
+    public LoadFlowController(LoadFlowService loadFlowService, LoadFlowResultService loadFlowResultService, UuidGeneratorService uuidGeneratorService,
+                              ObjectMapper objectMapper) {
         this.loadFlowService = loadFlowService;
         this.uuidGeneratorService = uuidGeneratorService;
         this.loadFlowResultService = loadFlowResultService;
+        this.objectMapper = objectMapper;
     }
 
     @PostMapping(value = "/networks/{networkUuid}/run-and-save", produces = APPLICATION_JSON_VALUE)
@@ -66,10 +82,19 @@ public class LoadFlowController {
                                     @Parameter(description = "withRatioTapChangers") @RequestParam(name = "withRatioTapChangers", required = false,
                                             defaultValue = "false") Boolean withRatioTapChangers,
                                     @Parameter(description = "applySolvedValues") @RequestParam(name = "applySolvedValues", required = false, defaultValue = "false") Boolean applySolvedValues,
+                                    @Parameter(description = "Only compute and save the result, without applying solved values nor saving the network")
+                                    @RequestParam(name = "dryRun", required = false, defaultValue = "false") Boolean dryRun,
+                                    @Parameter(description = "Version of the network variant, a stored result computed on the same version with the same parameters is reused")
+                                    @RequestParam(name = "networkVersion", required = false) String networkVersion,
+                                    @Parameter(description = "Run priority, batch runs are consumed apart from interactive runs")
+                                    @RequestParam(name = "priority", required = false, defaultValue = "INTERACTIVE") RunPriority priority,
+                                    @Parameter(description = "Study perimeter as a global filter, limit violations are only detected and saved inside of it")
+                                    @RequestParam(name = "perimeter", required = false) String perimeter,
                                     @Parameter(description = "resultUuid") @RequestParam(name = "resultUuid", required = false) UUID resultUuid,
                                     @RequestHeader(HEADER_USER_ID) String userId
                                     ) {
         UUID resultUuidToRun = resultUuid != null ? resultUuid : uuidGeneratorService.generate();
+        String decodedStringPerimeter = perimeter != null ? URLDecoder.decode(perimeter, StandardCharsets.UTF_8) : null;
         LoadFlowRunContext loadFlowRunContext = LoadFlowRunContext.builder()
                 .resultUuid(resultUuidToRun)
                 .networkUuid(networkUuid)
@@ -80,21 +105,28 @@ public class LoadFlowController {
                 .parametersUuid(parametersUuid)
                 .withRatioTapChangers(withRatioTapChangers)
                 .applySolvedValues(applySolvedValues)
+                .dryRun(dryRun)
+                .networkVersion(networkVersion)
+                .priority(priority)
+                .perimeter(FilterUtils.fromStringGlobalFiltersToDTO(decodedStringPerimeter, objectMapper))
                 .build();
         return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(loadFlowService.runAndSaveResult(loadFlowRunContext));
     }
 
-    @GetMapping(value = "/results/{resultUuid}", produces = APPLICATION_JSON_VALUE)
+    @GetMapping(value = "/results/{resultUuid}", produces = {APPLICATION_JSON_VALUE, APPLICATION_CBOR_VALUE})
     @Operation(summary = "Get a loadflow result from the database")
     @ApiResponses(value = {@ApiResponse(responseCode = "200", description = "The loadflow result"),
         @ApiResponse(responseCode = "404", description = "The loadflow result has not been found")})
     public ResponseEntity<LoadFlowResult> getResult(@Parameter(description = "Result UUID") @PathVariable("resultUuid") UUID resultUuid,
                                                     @Parameter(description = "Filters") @RequestParam(name = "filters", required = false) String stringFilters,
-                                                    @Parameter(description = "Sort parameters") Sort sort) {
+                                                    @Parameter(description = "Sort parameters") Sort sort,
+                                                    WebRequest request) {
         String decodedStringFilters = stringFilters != null ? URLDecoder.decode(stringFilters, StandardCharsets.UTF_8) : null;
-        LoadFlowResult result = loadFlowResultService.getResult(resultUuid, decodedStringFilters, sort);
-        return result != null ? ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(result)
-                : ResponseEntity.notFound().build();
+        return withResultETag(resultUuid, request, () -> {
+            LoadFlowResult result = loadFlowResultService.getResult(resultUuid, decodedStringFilters, sort);
+            return result != null ? ResponseEntity.ok().body(result)
+                    : ResponseEntity.notFound().build();
+        }, decodedStringFilters, sort);
     }
 
     @PostMapping(value = "/results", produces = APPLICATION_JSON_VALUE)
@@ -103,13 +135,13 @@ public class LoadFlowController {
     public ResponseEntity<UUID> saveResults(@RequestBody com.powsybl.loadflow.LoadFlowResult loadFlowResult) {
         UUID resultUuid = uuidGeneratorService.generate();
         LoadFlowStatus status = LoadFlowService.computeLoadFlowStatus(loadFlowResult);
-        LoadFlowModificationInfos loadFlowModificationInfos = new LoadFlowModificationInfos();
+        LoadFlowModificationsRecorder loadFlowModifications = new BufferedLoadFlowModifications(objectMapper);
         List<LimitViolationInfos> limitViolationInfos = Collections.emptyList();
         Map<Pair<Integer, Integer>, LoadFlowWorkerService.ComponentCalculatedInfos> componentInfos = Collections.emptyMap();
         List<CountryAdequacy> countryAdequacies = Collections.emptyList();
         Map<String, List<Exchange>> exchanges = Collections.emptyMap();
 
-        loadFlowResultService.insert(resultUuid, loadFlowResult, status, loadFlowModificationInfos, limitViolationInfos, componentInfos, countryAdequacies, exchanges);
+        loadFlowResultService.insert(resultUuid, loadFlowResult, status, loadFlowModifications, limitViolationInfos, null, componentInfos, countryAdequacies, exchanges);
         return ResponseEntity.ok().body(resultUuid);
     }
 
@@ -156,21 +188,23 @@ public class LoadFlowController {
     @GetMapping(value = "/providers", produces = APPLICATION_JSON_VALUE)
     @Operation(summary = "Get all loadflow providers")
     @ApiResponses(value = {@ApiResponse(responseCode = "200")})
-    public ResponseEntity<List<String>> getProviders() {
+    public ResponseEntity<byte[]> getProviders() {
         return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON)
-                .body(loadFlowService.getProviders());
+                .cacheControl(PROVIDERS_CACHE_CONTROL)
+                .body(loadFlowService.getProvidersJson());
     }
 
     @GetMapping(value = "/specific-parameters")
     @Operation(summary = "Get all existing loadflow specific parameters for a given provider, or for all of them")
     @ApiResponses(value = {@ApiResponse(responseCode = "200", description = "The loadflow model-specific parameters")})
-    public ResponseEntity<Map<String, List<com.powsybl.commons.parameters.Parameter>>> getSpecificLoadflowParameters(
+    public ResponseEntity<byte[]> getSpecificLoadflowParameters(
             @Parameter(description = "The model provider") @RequestParam(name = "provider", required = false) String provider) {
         return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON)
-                .body(LoadFlowService.getSpecificLoadFlowParameters(provider));
+                .cacheControl(PROVIDERS_CACHE_CONTROL)
+                .body(loadFlowService.getSpecificLoadFlowParametersJson(provider));
     }
 
-    @GetMapping(value = "/results/{resultUuid}/limit-violations")
+    @GetMapping(value = "/results/{resultUuid}/limit-violations", produces = {APPLICATION_JSON_VALUE, APPLICATION_CBOR_VALUE})
     @Operation(summary = "Get limit violations")
     @ApiResponses(value = {@ApiResponse(responseCode = "200", description = "The limit violations")})
     public ResponseEntity<List<LimitViolationInfos>> getLimitViolations(
@@ -179,49 +213,78 @@ public class LoadFlowController {
             @Parameter(description = "Global Filters") @RequestParam(name = "globalFilters", required = false) String globalFilters,
             @Parameter(description = "Sort parameters") Sort sort,
             @Parameter(description = "network Uuid") @RequestParam(name = "networkUuid", required = false) UUID networkUuid,
-            @Parameter(description = "variant Id") @RequestParam(name = "variantId", required = false) String variantId
+            @Parameter(description = "variant Id") @RequestParam(name = "variantId", required = false) String variantId,
+            WebRequest request
     ) {
         String decodedStringFilters = filters != null ? URLDecoder.decode(filters, StandardCharsets.UTF_8) : null;
         String decodedStringGlobalFilters = globalFilters != null ? URLDecoder.decode(globalFilters, StandardCharsets.UTF_8) : null;
-        List<LimitViolationInfos> result = loadFlowResultService.getLimitViolationsInfos(resultUuid, decodedStringFilters, decodedStringGlobalFilters, sort, networkUuid, variantId);
-        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(result);
+        Supplier<ResponseEntity<List<LimitViolationInfos>>> response = () -> ResponseEntity.ok().body(
+            loadFlowResultService.getLimitViolationsInfos(resultUuid, decodedStringFilters, decodedStringGlobalFilters, sort, networkUuid, variantId));
+        // global filters are resolved against the network, so the response is not only determined by the stored result
+        return decodedStringGlobalFilters != null ? response.get() : withResultETag(resultUuid, request, response, decodedStringFilters, sort);
     }
 
-    @GetMapping(value = "/results/{resultUuid}/current-limit-violations")
+    @GetMapping(value = "/results/{resultUuid}/current-limit-violations", produces = {APPLICATION_JSON_VALUE, APPLICATION_CBOR_VALUE})
     @Operation(summary = "Get limit violations")
     @ApiResponses(value = {@ApiResponse(responseCode = "200", description = "The limit violations")})
     public ResponseEntity<List<LimitViolationInfos>> getCurrentLimitViolations(
-        @Parameter(description = "Result UUID") @PathVariable("resultUuid") UUID resultUuid
+        @Parameter(description = "Result UUID") @PathVariable("resultUuid") UUID resultUuid,
+        WebRequest request
     ) {
-        List<LimitViolationInfos> result = loadFlowResultService.getCurrentLimitViolationsInfos(resultUuid);
-        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(result);
+        return withResultETag(resultUuid, request, () -> ResponseEntity.ok().body(loadFlowResultService.getCurrentLimitViolationsInfos(resultUuid)));
+    }
+
+    @GetMapping(value = "/results/{resultUuid}/limit-violations/counts", produces = APPLICATION_JSON_VALUE)
+    @Operation(summary = "Get the total number of limit violations of each type, when only the most severe ones are stored")
+    @ApiResponses(@ApiResponse(responseCode = "200", description = "Number of limit violations by type, empty when all the violations are stored"))
+    public ResponseEntity<Map<LimitViolationType, Long>> getLimitViolationCounts(@Parameter(description = "Result UUID") @PathVariable("resultUuid") UUID resultUuid,
+                                                                                 WebRequest request) {
+        return withResultETag(resultUuid, request, () -> ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(loadFlowResultService.getLimitViolationCounts(resultUuid)));
     }
 
     @GetMapping(value = "/results/{resultUuid}/limit-types", produces = APPLICATION_JSON_VALUE)
     @Operation(summary = "Get the list of limit types values")
     @ApiResponses(@ApiResponse(responseCode = "200", description = "List of limit types values by result"))
-    public ResponseEntity<List<LimitViolationType>> getLimitTypes(@Parameter(description = "Result UUID") @PathVariable("resultUuid") UUID resultUuid) {
-        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(loadFlowResultService.getLimitTypes(resultUuid));
+    public ResponseEntity<List<LimitViolationType>> getLimitTypes(@Parameter(description = "Result UUID") @PathVariable("resultUuid") UUID resultUuid,
+                                                                  WebRequest request) {
+        return withResultETag(resultUuid, request, () -> ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(loadFlowResultService.getLimitTypes(resultUuid)));
     }
 
     @GetMapping(value = "/results/{resultUuid}/branch-sides", produces = APPLICATION_JSON_VALUE)
     @Operation(summary = "Get the list of branch sides values")
     @ApiResponses(@ApiResponse(responseCode = "200", description = "List of branch sides values by result"))
-    public ResponseEntity<List<ThreeSides>> getBranchSides(@Parameter(description = "Result UUID") @PathVariable("resultUuid") UUID resultUuid) {
-        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(loadFlowResultService.getBranchSides(resultUuid));
+    public ResponseEntity<List<ThreeSides>> getBranchSides(@Parameter(description = "Result UUID") @PathVariable("resultUuid") UUID resultUuid,
+                                                           WebRequest request) {
+        return withResultETag(resultUuid, request, () -> ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(loadFlowResultService.getBranchSides(resultUuid)));
     }
 
     @GetMapping(value = "/results/{resultUuid}/computation-status", produces = APPLICATION_JSON_VALUE)
     @Operation(summary = "Get the list of computation status values")
     @ApiResponses(@ApiResponse(responseCode = "200", description = "List of computation status values by result"))
-    public ResponseEntity<List<Status>> getComputationStatus(@Parameter(description = "Result UUID") @PathVariable("resultUuid") UUID resultUuid) {
-        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(loadFlowService.getComputationStatus(resultUuid));
+    public ResponseEntity<List<Status>> getComputationStatus(@Parameter(description = "Result UUID") @PathVariable("resultUuid") UUID resultUuid,
+                                                             WebRequest request) {
+        return withResultETag(resultUuid, request, () -> ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(loadFlowService.getComputationStatus(resultUuid)));
     }
 
-    @GetMapping(value = "/results/{resultUuid}/modifications", produces = APPLICATION_JSON_VALUE)
+    @GetMapping(value = "/results/{resultUuid}/modifications", produces = {APPLICATION_JSON_VALUE, APPLICATION_CBOR_VALUE})
     @Operation(summary = "Get loadflow modifications")
     @ApiResponses(@ApiResponse(responseCode = "200", description = "List of modifications due to loadflow computation"))
-    public ResponseEntity<LoadFlowModificationInfos> getLoadFlowModifications(@Parameter(description = "Result UUID") @PathVariable("resultUuid") UUID resultUuid) {
-        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(loadFlowService.getModifications(resultUuid));
+    public ResponseEntity<LoadFlowModificationInfos> getLoadFlowModifications(@Parameter(description = "Result UUID") @PathVariable("resultUuid") UUID resultUuid,
+                                                                              WebRequest request) {
+        return withResultETag(resultUuid, request, () -> ResponseEntity.ok().body(loadFlowService.getModifications(resultUuid)));
+    }
+
+    /**
+     * Stored results are immutable, so when the client already holds the response (matching If-None-Match), answer 304
+     * without building it. The ETag also depends on the negotiated format (Accept header).
+     */
+    private <T> ResponseEntity<T> withResultETag(UUID resultUuid, WebRequest request, Supplier<ResponseEntity<T>> response, Object... queryParameters) {
+        List<Object> eTagParameters = new ArrayList<>(Arrays.asList(queryParameters));
+        eTagParameters.add(request.getHeader(HttpHeaders.ACCEPT));
+        Optional<String> eTag = loadFlowResultService.getResultETag(resultUuid, eTagParameters);
+        if (eTag.isPresent() && request.checkNotModified(eTag.get())) {
+            return null;
+        }
+        return response.get();
     }
 }
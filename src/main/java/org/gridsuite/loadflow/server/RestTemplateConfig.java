@@ -19,6 +19,7 @@ import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
 import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
 import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
 import org.springframework.web.client.RestTemplate;
@@ -53,6 +54,16 @@ public class RestTemplateConfig {
         return converter;
     }
 
+    /**
+     * Binary alternative to JSON for the large result payloads, served to clients accepting application/cbor
+     */
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter() {
+        ObjectMapper cborObjectMapper = Jackson2ObjectMapperBuilder.cbor().build();
+        cborObjectMapper.configure(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS, false);
+        return new MappingJackson2CborHttpMessageConverter(cborObjectMapper);
+    }
+
     @Bean
     public static ObjectMapper objectMapper() {
         var objectMapper = Jackson2ObjectMapperBuilder.json().build();
@@ -8,6 +8,7 @@ package org.gridsuite.loadflow.server.dto;
 
 import com.powsybl.contingency.violations.LimitViolationType;
 import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
@@ -19,6 +20,7 @@ import org.gridsuite.loadflow.server.entities.LimitViolationEntity;
  */
 @SuperBuilder
 @NoArgsConstructor
+@AllArgsConstructor
 @Getter
 @Setter
 @Schema(description = "Limit violation infos")
@@ -0,0 +1,17 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.loadflow.server.dto;
+
+/**
+ * Interactive and batch runs are queued and consumed separately, so that batch runs never hold the consumers of interactive runs.
+ *
+ * @author Anis Touri <anis.touri at rte-france.com>
+ */
+public enum RunPriority {
+    INTERACTIVE,
+    BATCH,
+}
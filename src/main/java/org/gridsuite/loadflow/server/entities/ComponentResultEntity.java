@@ -24,6 +24,9 @@ import java.util.UUID;
 @NoArgsConstructor
 @FieldNameConstants
 @Entity
+@Table(indexes = {
+    @Index(name = "componentResult_resultUuid_status_idx", columnList = "resultUuid, status")
+})
 public class ComponentResultEntity {
 
     @Id
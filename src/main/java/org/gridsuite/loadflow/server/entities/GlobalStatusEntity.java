@@ -12,6 +12,7 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import org.gridsuite.loadflow.server.dto.LoadFlowStatus;
 import java.io.Serializable;
+import java.time.Instant;
 import java.util.UUID;
 
 /**
@@ -21,7 +22,9 @@ import java.util.UUID;
 @AllArgsConstructor
 @NoArgsConstructor
 @Entity
-@Table(name = "globalStatus")
+@Table(name = "globalStatus", indexes = {
+    @Index(name = "globalStatus_userId_status_idx", columnList = "userId, status")
+})
 public class GlobalStatusEntity implements Serializable {
 
     @Id
@@ -30,4 +33,15 @@ public class GlobalStatusEntity implements Serializable {
     @Enumerated(EnumType.STRING)
     private LoadFlowStatus status;
 
+    /**
+     * User of a submitted run, only kept while the run is waiting or in progress
+     */
+    private String userId;
+
+    /**
+     * Submission date of a run waiting or in progress: a run that never ends, dead-lettered or lost with its worker,
+     * stops counting for its user after some time
+     */
+    private Instant submissionDate;
+
 }
@@ -27,7 +27,10 @@ import java.util.UUID;
 @Entity
 @FieldNameConstants
 @Table(name = "limitViolation", indexes = {
-    @Index(name = "limitViolation_resultUuid_idx", columnList = "resultUuid")
+    @Index(name = "limitViolation_resultUuid_limitType_idx", columnList = "resultUuid, limitType"),
+    @Index(name = "limitViolation_resultUuid_side_idx", columnList = "resultUuid, side"),
+    @Index(name = "limitViolation_resultUuid_overload_idx", columnList = "resultUuid, overload"),
+    @Index(name = "limitViolation_resultUuid_subjectId_idx", columnList = "resultUuid, subjectId")
 })
 public class LimitViolationEntity {
 
@@ -0,0 +1,36 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.loadflow.server.entities;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+/**
+ * A result UUID served by a stored result: the UUID of the run that computed it, or of a later run with the same fingerprint.
+ * The stored result is deleted with the last result UUID it serves.
+ *
+ * @author Anis Touri <anis.touri at rte-france.com>
+ */
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+@Table(name = "loadflow_result_alias", indexes = {
+    @Index(name = "loadflow_result_alias_result_uuid_idx", columnList = "result_uuid")
+})
+public class LoadFlowResultAliasEntity {
+
+    @Id
+    private UUID aliasUuid;
+
+    @Column(name = "result_uuid", nullable = false)
+    private UUID resultUuid;
+}
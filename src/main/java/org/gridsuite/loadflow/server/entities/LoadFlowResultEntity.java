@@ -6,10 +6,12 @@
  */
 package org.gridsuite.loadflow.server.entities;
 
+import com.powsybl.contingency.violations.LimitViolationType;
 import jakarta.persistence.*;
 import lombok.*;
 import java.time.Instant;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 /**
@@ -20,7 +22,9 @@ import java.util.UUID;
 @AllArgsConstructor
 @NoArgsConstructor
 @Entity
-@Table(name = "loadflow_result")
+@Table(name = "loadflow_result", indexes = {
+    @Index(name = "loadflow_result_fingerprint_idx", columnList = "fingerprint")
+})
 public class LoadFlowResultEntity {
 
     @Id
@@ -32,6 +36,9 @@ public class LoadFlowResultEntity {
     @Column(columnDefinition = "CLOB")
     String modifications;
 
+    @Column
+    private byte[] compressedModifications;
+
     @Setter
     @OneToMany(cascade = CascadeType.ALL, mappedBy = "loadFlowResult", fetch = FetchType.LAZY)
     private List<ComponentResultEntity> componentResults;
@@ -47,4 +54,20 @@ public class LoadFlowResultEntity {
     @Setter
     @OneToMany(cascade = CascadeType.ALL, mappedBy = "loadFlowResult", fetch = FetchType.LAZY)
     private List<ExchangeMapEntryEntity> exchanges;
+
+    @Column
+    private String fingerprint;
+
+    /**
+     * Total number of limit violations of each type, when only the most severe ones are stored
+     */
+    @Setter
+    @ElementCollection
+    @CollectionTable(name = "loadflow_result_limit_violation_count",
+        joinColumns = @JoinColumn(name = "result_uuid"),
+        foreignKey = @ForeignKey(name = "loadflowResult_limitViolationCount_fk"))
+    @MapKeyColumn(name = "limit_type")
+    @MapKeyEnumerated(EnumType.STRING)
+    @Column(name = "violation_count")
+    private Map<LimitViolationType, Long> limitViolationCounts;
 }
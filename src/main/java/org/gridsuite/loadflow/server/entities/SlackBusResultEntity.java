@@ -21,6 +21,9 @@ import java.util.UUID;
 @Builder
 @FieldNameConstants
 @Entity
+@Table(indexes = {
+    @Index(name = "slackBusResult_componentResultUuid_idx", columnList = "componentResultUuid")
+})
 public class SlackBusResultEntity {
     @Id
     @GeneratedValue(strategy = GenerationType.AUTO)
@@ -9,6 +9,8 @@ package org.gridsuite.loadflow.server.entities.parameters;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Fetch;
+import org.hibernate.annotations.FetchMode;
 
 import java.util.List;
 import java.util.UUID;
@@ -30,6 +32,7 @@ public class LimitReductionEntity {
     )
     @OrderColumn(name = "index")
     @Column(name = "reductions")
+    @Fetch(FetchMode.SUBSELECT)
     private List<Double> reductions;
 
     public LimitReductionEntity(List<Double> reductions) {
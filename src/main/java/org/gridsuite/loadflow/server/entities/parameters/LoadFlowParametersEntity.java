@@ -11,6 +11,8 @@ import com.powsybl.loadflow.LoadFlowParameters;
 import jakarta.persistence.*;
 import lombok.*;
 import org.gridsuite.loadflow.server.dto.parameters.LoadFlowParametersInfos;
+import org.hibernate.annotations.Fetch;
+import org.hibernate.annotations.FetchMode;
 import org.springframework.lang.Nullable;
 import java.util.ArrayList;
 import java.util.List;
@@ -35,6 +37,13 @@ public class LoadFlowParametersEntity {
     @Column(name = "id")
     private UUID id;
 
+    /**
+     * Incremented by each update, so that the instances caching the parameters values can tell they are outdated
+     */
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     @Column(name = "provider")
     private String provider;
 
@@ -81,6 +90,7 @@ public class LoadFlowParametersEntity {
     @CollectionTable(foreignKey = @ForeignKey(name = "loadFlowParametersEntity_countriesToBalance_fk1"),
             indexes = {@Index(name = "loadFlowParametersEntity_countriesToBalance_idx1",
                     columnList = "load_flow_parameters_entity_id")})
+    @Fetch(FetchMode.SUBSELECT)
     private Set<String> countriesToBalance;
 
     @Column(name = "connectedComponentMode")
@@ -100,6 +110,7 @@ public class LoadFlowParametersEntity {
     @OneToMany(cascade = CascadeType.ALL, orphanRemoval = true)
     @JoinColumn(name = "load_flow_parameters_id", foreignKey = @ForeignKey(name = "loadFlowParametersEntity_limitReductions_fk"))
     @OrderColumn(name = "index")
+    @Fetch(FetchMode.SUBSELECT)
     private List<LimitReductionEntity> limitReductions;
 
     public LoadFlowParametersEntity(LoadFlowParametersInfos loadFlowParametersInfos) {
@@ -6,10 +6,12 @@
  */
 package org.gridsuite.loadflow.server.repositories;
 
+import org.gridsuite.loadflow.server.dto.LoadFlowStatus;
 import org.gridsuite.loadflow.server.entities.GlobalStatusEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
 import java.util.UUID;
 
 /**
@@ -21,4 +23,6 @@ public interface GlobalStatusRepository extends JpaRepository<GlobalStatusEntity
 
     void deleteByResultUuid(UUID resultUuid);
 
+    long countByUserIdAndStatusAndSubmissionDateAfter(String userId, LoadFlowStatus status, Instant submissionDate);
+
 }
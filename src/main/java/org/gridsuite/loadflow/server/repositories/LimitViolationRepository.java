@@ -21,7 +21,7 @@ import java.util.UUID;
  * @author Franck Lecuyer <franck.lecuyer at rte-france.com>
  */
 @Repository
-public interface LimitViolationRepository extends JpaRepository<LimitViolationEntity, UUID>, JpaSpecificationExecutor<LimitViolationEntity> {
+public interface LimitViolationRepository extends JpaRepository<LimitViolationEntity, UUID>, JpaSpecificationExecutor<LimitViolationEntity>, LimitViolationRepositoryCustom {
 
     boolean existsLimitViolationEntitiesByLoadFlowResultResultUuid(UUID resultUuid);
 
@@ -0,0 +1,25 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.loadflow.server.repositories;
+
+import org.gridsuite.loadflow.server.dto.LimitViolationInfos;
+import org.gridsuite.loadflow.server.entities.LimitViolationEntity;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+/**
+ * @author Anis Touri <anis.touri at rte-france.com>
+ */
+public interface LimitViolationRepositoryCustom {
+
+    /**
+     * Select the limit violations matching the specification directly as {@link LimitViolationInfos}, without loading any entity.
+     */
+    List<LimitViolationInfos> findAllInfos(Specification<LimitViolationEntity> specification, Sort sort);
+}
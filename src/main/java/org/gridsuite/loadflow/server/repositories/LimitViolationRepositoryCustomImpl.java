@@ -0,0 +1,62 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.loadflow.server.repositories;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.gridsuite.loadflow.server.dto.LimitViolationInfos;
+import org.gridsuite.loadflow.server.entities.LimitViolationEntity;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import java.util.List;
+
+/**
+ * @author Anis Touri <anis.touri at rte-france.com>
+ */
+public class LimitViolationRepositoryCustomImpl implements LimitViolationRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<LimitViolationInfos> findAllInfos(Specification<LimitViolationEntity> specification, Sort sort) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<LimitViolationInfos> query = criteriaBuilder.createQuery(LimitViolationInfos.class);
+        Root<LimitViolationEntity> root = query.from(LimitViolationEntity.class);
+
+        // same argument order as the LimitViolationInfos all args constructor
+        query.select(criteriaBuilder.construct(LimitViolationInfos.class,
+            root.get(LimitViolationEntity.Fields.subjectId),
+            root.get(LimitViolationEntity.Fields.locationId),
+            root.get(LimitViolationEntity.Fields.limit),
+            root.get(LimitViolationEntity.Fields.limitName),
+            root.get(LimitViolationEntity.Fields.nextLimitName),
+            root.get(LimitViolationEntity.Fields.actualOverload),
+            root.get(LimitViolationEntity.Fields.upComingOverload),
+            root.get(LimitViolationEntity.Fields.overload),
+            root.get(LimitViolationEntity.Fields.patlLimit),
+            root.get(LimitViolationEntity.Fields.patlOverload),
+            root.get(LimitViolationEntity.Fields.value),
+            root.get(LimitViolationEntity.Fields.side),
+            root.get(LimitViolationEntity.Fields.limitType)));
+
+        Predicate predicate = specification.toPredicate(root, query, criteriaBuilder);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        if (sort != null && sort.isSorted()) {
+            query.orderBy(QueryUtils.toOrders(sort, root, criteriaBuilder));
+        }
+        return entityManager.createQuery(query).getResultList();
+    }
+}
@@ -0,0 +1,24 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.loadflow.server.repositories;
+
+import org.gridsuite.loadflow.server.entities.LoadFlowResultAliasEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * @author Anis Touri <anis.touri at rte-france.com>
+ */
+@Repository
+public interface ResultAliasRepository extends JpaRepository<LoadFlowResultAliasEntity, UUID> {
+    boolean existsByResultUuid(UUID resultUuid);
+
+    List<LoadFlowResultAliasEntity> findAllByResultUuid(UUID resultUuid);
+}
@@ -8,8 +8,12 @@ package org.gridsuite.loadflow.server.repositories;
 
 import org.gridsuite.loadflow.server.entities.LoadFlowResultEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -21,4 +25,14 @@ public interface ResultRepository extends JpaRepository<LoadFlowResultEntity, UU
     Optional<LoadFlowResultEntity> findByResultUuid(UUID resultUuid);
 
     void deleteByResultUuid(UUID resultUuid);
+
+    @Query(value = "SELECT r.writeTimeStamp from LoadFlowResultEntity as r where r.resultUuid = :resultUuid")
+    Optional<Instant> findWriteTimeStampByResultUuid(UUID resultUuid);
+
+    @Query(value = "SELECT r.resultUuid from LoadFlowResultEntity as r where r.fingerprint = :fingerprint")
+    List<UUID> findResultUuidsByFingerprint(String fingerprint);
+
+    @Modifying
+    @Query(value = "UPDATE LoadFlowResultEntity r SET r.fingerprint = :fingerprint WHERE r.resultUuid = :resultUuid")
+    void updateFingerprint(UUID resultUuid, String fingerprint);
 }
@@ -7,8 +7,12 @@
 package org.gridsuite.loadflow.server.repositories.parameters;
 
 import org.gridsuite.loadflow.server.entities.parameters.LoadFlowParametersEntity;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 /**
@@ -17,4 +21,17 @@ import java.util.UUID;
 
 @Repository
 public interface LoadFlowParametersRepository extends JpaRepository<LoadFlowParametersEntity, UUID> {
+
+    // the other collections are not joined as well: a cartesian product would duplicate the specific parameters,
+    // they are loaded by subselect for all the parameters of the query at once
+    @EntityGraph(attributePaths = {"specificParameters"})
+    @Query(value = "SELECT p from LoadFlowParametersEntity as p where p.id = :id")
+    Optional<LoadFlowParametersEntity> findWithCollectionsById(UUID id);
+
+    @EntityGraph(attributePaths = {"specificParameters"})
+    @Query(value = "SELECT p from LoadFlowParametersEntity as p")
+    List<LoadFlowParametersEntity> findAllWithCollections();
+
+    @Query(value = "SELECT p.version from LoadFlowParametersEntity as p where p.id = :id")
+    Optional<Long> findVersionById(UUID id);
 }
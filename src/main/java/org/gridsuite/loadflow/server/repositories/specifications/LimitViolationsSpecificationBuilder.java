@@ -10,6 +10,8 @@ import jakarta.persistence.criteria.*;
 import org.gridsuite.computation.dto.ResourceFilterDTO;
 import org.gridsuite.computation.specification.AbstractCommonSpecificationBuilder;
 import org.gridsuite.loadflow.server.entities.LimitViolationEntity;
+import org.hibernate.query.criteria.HibernateCriteriaBuilder;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 
 import java.util.UUID;
@@ -35,4 +37,17 @@ public final class LimitViolationsSpecificationBuilder extends AbstractCommonSpe
     public Path<UUID> getResultIdPath(Root<LimitViolationEntity> root) {
         return root.get(LimitViolationEntity.Fields.loadFlowResult).get(RESULT_UUID_FIELD_NAME);
     }
+
+    /**
+     * Keeps the limit violations of the given subjects, the ids being bound as a single array parameter
+     * ("subject_id = any(cast(? as varchar[]))" on PostgreSQL) instead of one parameter each
+     */
+    public Specification<LimitViolationEntity> subjectIdIn(String[] subjectIds) {
+        return (root, query, criteriaBuilder) -> criteriaBuilder.isTrue(criteriaBuilder.function(
+            LoadFlowFunctionContributor.VARCHAR_IN_ARRAY,
+            Boolean.class,
+            root.get(LimitViolationEntity.Fields.subjectId),
+            ((HibernateCriteriaBuilder) criteriaBuilder).value(subjectIds)
+        ));
+    }
 }
@@ -0,0 +1,39 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.loadflow.server.repositories.specifications;
+
+import org.hibernate.boot.model.FunctionContributions;
+import org.hibernate.boot.model.FunctionContributor;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.type.StandardBasicTypes;
+
+/**
+ * Registers the SQL functions used by the specifications, rendered natively for the database in use.
+ *
+ * @author Anis Touri <anis.touri at rte-france.com>
+ */
+public class LoadFlowFunctionContributor implements FunctionContributor {
+
+    /**
+     * {@code varchar_in_array(value, array)}: whether the value is one of the strings of the array parameter.
+     * Unlike the array functions of Hibernate ({@code ? @> array[value]} on PostgreSQL), it keeps the condition on the column
+     * so that PostgreSQL can use the indexes of this column
+     */
+    public static final String VARCHAR_IN_ARRAY = "varchar_in_array";
+
+    static final String POSTGRESQL_VARCHAR_IN_ARRAY_PATTERN = "(?1 = any(cast(?2 as varchar[])))";
+    static final String VARCHAR_IN_ARRAY_PATTERN = "(?1 = any(cast(?2 as varchar array)))";
+
+    @Override
+    public void contributeFunctions(FunctionContributions functionContributions) {
+        functionContributions.getFunctionRegistry().registerPattern(
+            VARCHAR_IN_ARRAY,
+            functionContributions.getDialect() instanceof PostgreSQLDialect ? POSTGRESQL_VARCHAR_IN_ARRAY_PATTERN : VARCHAR_IN_ARRAY_PATTERN,
+            functionContributions.getTypeConfiguration().getBasicTypeRegistry().resolve(StandardBasicTypes.BOOLEAN)
+        );
+    }
+}
@@ -0,0 +1,143 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.loadflow.server.service;
+
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Runs the solver tasks on the given executor, at most the given number of them at the same time,
+ * some of them being reserved to the interactive runs so that the batch runs cannot take the whole capacity.
+ * A task holds its permits from the moment it starts until it ends, even when its run is cancelled meanwhile.
+ * A task cancelled while waiting for its permits never runs.
+ * <p>
+ * The tasks of a run are submitted through {@link #submit}: the future of the run is the one cancelled by the worker,
+ * the task the solver hands to {@link #execute} (a {@code CompletableFuture} async supplier for instance) is not.
+ *
+ * @author Anis Touri <anis.touri at rte-france.com>
+ */
+public class BoundedSolverExecutor implements Executor {
+
+    private static final long PERMIT_WAIT_MILLIS = 100;
+
+    /**
+     * The run whose tasks are being submitted by the current thread
+     */
+    private record Submission(boolean batch, AtomicReference<Future<?>> runFuture) { }
+
+    private static final ThreadLocal<Submission> CURRENT_SUBMISSION = new ThreadLocal<>();
+
+    private final Executor executor;
+    private final Semaphore permits;
+    private final Semaphore batchPermits;
+
+    public BoundedSolverExecutor(Executor executor, int maxConcurrentTasks) {
+        this(executor, maxConcurrentTasks, 0);
+    }
+
+    public BoundedSolverExecutor(Executor executor, int maxConcurrentTasks, int reservedInteractiveTasks) {
+        if (reservedInteractiveTasks < 0 || reservedInteractiveTasks >= maxConcurrentTasks) {
+            throw new IllegalArgumentException("The reserved interactive tasks must be between 0 and " + (maxConcurrentTasks - 1));
+        }
+        this.executor = Objects.requireNonNull(executor);
+        this.permits = new Semaphore(maxConcurrentTasks, true);
+        this.batchPermits = new Semaphore(maxConcurrentTasks - reservedInteractiveTasks, true);
+    }
+
+    /**
+     * Starts a run whose solver tasks are executed by this executor
+     *
+     * @param batch whether the tasks of the run only use the slots not reserved to the interactive runs
+     * @param run starts the run, executing its tasks with this executor, and returns its future
+     */
+    public <R> CompletableFuture<R> submit(boolean batch, Supplier<CompletableFuture<R>> run) {
+        Submission submission = new Submission(batch, new AtomicReference<>());
+        CURRENT_SUBMISSION.set(submission);
+        try {
+            CompletableFuture<R> runFuture = run.get();
+            submission.runFuture().set(runFuture);
+            return runFuture;
+        } finally {
+            CURRENT_SUBMISSION.remove();
+        }
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        Objects.requireNonNull(command);
+        Submission submission = CURRENT_SUBMISSION.get();
+        boolean batch = submission != null && submission.batch();
+        executor.execute(() -> {
+            try {
+                if (!acquirePermits(command, submission, batch)) {
+                    return;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            try {
+                command.run();
+            } finally {
+                releasePermits(batch);
+            }
+        });
+    }
+
+    /**
+     * @return false if the task has been cancelled while waiting for its permits, in which case no permit is held
+     */
+    private boolean acquirePermits(Runnable command, Submission submission, boolean batch) throws InterruptedException {
+        // the batch permit is taken first: a batch task waiting for a batch slot does not hold a slot of the interactive runs
+        if (batch && !acquire(batchPermits, command, submission)) {
+            return false;
+        }
+        if (!acquire(permits, command, submission)) {
+            if (batch) {
+                batchPermits.release();
+            }
+            return false;
+        }
+        if (isCancelled(command, submission)) {
+            releasePermits(batch);
+            return false;
+        }
+        return true;
+    }
+
+    private static boolean acquire(Semaphore semaphore, Runnable command, Submission submission) throws InterruptedException {
+        while (!semaphore.tryAcquire(PERMIT_WAIT_MILLIS, TimeUnit.MILLISECONDS)) {
+            if (isCancelled(command, submission)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void releasePermits(boolean batch) {
+        permits.release();
+        if (batch) {
+            batchPermits.release();
+        }
+    }
+
+    private static boolean isCancelled(Runnable command, Submission submission) {
+        if (submission != null) {
+            Future<?> runFuture = submission.runFuture().get();
+            if (runFuture != null && runFuture.isDone()) {
+                return true;
+            }
+        }
+        return command instanceof Future<?> future && future.isDone();
+    }
+}
@@ -0,0 +1,68 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.loadflow.server.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.gridsuite.loadflow.server.dto.modifications.LoadFlowModificationInfos;
+import org.gridsuite.loadflow.server.dto.modifications.TapPositionType;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Solved values modifications kept as objects until the result is saved.
+ *
+ * @author Anis Touri <anis.touri at rte-france.com>
+ */
+public class BufferedLoadFlowModifications implements LoadFlowModificationsRecorder {
+
+    private final ObjectMapper objectMapper;
+    private final LoadFlowModificationInfos modificationInfos = new LoadFlowModificationInfos();
+
+    public BufferedLoadFlowModifications(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public void add2WTTapPositionValues(String twoWindingsTransformerId, Integer initialTapPosition, Integer solvedTapPosition, TapPositionType type) {
+        modificationInfos.add2WTTapPositionValues(twoWindingsTransformerId, initialTapPosition, solvedTapPosition, type);
+    }
+
+    @Override
+    public void addSCSectionCountValue(String shuntCompensatorId, Integer initialSectionCount, Integer solvedSectionCount) {
+        modificationInfos.addSCSectionCountValue(shuntCompensatorId, initialSectionCount, solvedSectionCount);
+    }
+
+    @Override
+    public byte[] toCompressedJson() {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        try (OutputStream gzipOutputStream = new GZIPOutputStream(outputStream)) {
+            objectMapper.writeValue(gzipOutputStream, modificationInfos);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Invalid modifications for compressed json !", e);
+        }
+        return outputStream.toByteArray();
+    }
+
+    @Override
+    public String toJsonString() {
+        try {
+            return objectMapper.writeValueAsString(modificationInfos);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException("Invalid modifications for json string !", e);
+        }
+    }
+
+    @Override
+    public void close() {
+        // nothing to release
+    }
+}
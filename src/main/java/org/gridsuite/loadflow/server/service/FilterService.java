@@ -6,21 +6,32 @@
  */
 package org.gridsuite.loadflow.server.service;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.powsybl.contingency.violations.LimitViolation;
 import com.powsybl.contingency.violations.LimitViolationType;
+import com.powsybl.iidm.network.*;
 import com.powsybl.network.store.client.NetworkStoreService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import lombok.NonNull;
 import org.gridsuite.computation.dto.GlobalFilter;
 import org.gridsuite.computation.dto.ResourceFilterDTO;
 import org.gridsuite.computation.service.AbstractFilterService;
+import org.gridsuite.filter.identifierlistfilter.IdentifiableAttributes;
 import org.gridsuite.filter.utils.EquipmentType;
+import org.gridsuite.filter.utils.FilterServiceUtils;
 import org.gridsuite.loadflow.server.dto.Column;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.stereotype.Service;
 
-import java.util.List;
-import java.util.Optional;
-import java.util.UUID;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.*;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 /**
@@ -29,13 +40,110 @@ import java.util.stream.Stream;
 @Service
 public class FilterService extends AbstractFilterService {
 
+    private record ResourceFilterKey(UUID networkUuid, String variantId, String globalFilter) { }
+
+    private final ObjectMapper objectMapper;
+
+    /**
+     * The UI sends the same global filter again on each sort or column change: resolved filters are kept for a short time,
+     * network modifications are taken into account once they expire
+     */
+    private final Cache<ResourceFilterKey, Optional<ResourceFilterDTO>> resourceFilters;
+
     public FilterService(RestTemplateBuilder restTemplateBuilder,
                          NetworkStoreService networkStoreService,
-                         @Value("${gridsuite.services.filter-server.base-uri:http://filter-server/}") String filterServerBaseUri) {
+                         ObjectMapper objectMapper,
+                         MeterRegistry meterRegistry,
+                         @Value("${gridsuite.services.filter-server.base-uri:http://filter-server/}") String filterServerBaseUri,
+                         @Value("${loadflow.global-filter-cache.maximum-size:200}") long cacheMaximumSize,
+                         @Value("${loadflow.global-filter-cache.expire-after-write:1m}") Duration cacheExpireAfterWrite) {
         super(restTemplateBuilder, networkStoreService, filterServerBaseUri);
+        this.objectMapper = objectMapper;
+        this.resourceFilters = Caffeine.newBuilder()
+            .maximumSize(cacheMaximumSize)
+            .expireAfterWrite(cacheExpireAfterWrite)
+            .recordStats()
+            .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, resourceFilters, "loadflow.global-filter.resource-filters");
     }
 
     public Optional<ResourceFilterDTO> getResourceFilter(@NonNull UUID networkUuid, @NonNull String variantId, @NonNull GlobalFilter globalFilter) {
+        String globalFilterKey;
+        try {
+            globalFilterKey = objectMapper.writeValueAsString(globalFilter);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+        return resourceFilters.get(new ResourceFilterKey(networkUuid, variantId, globalFilterKey),
+            key -> resolveResourceFilter(networkUuid, variantId, globalFilter));
+    }
+
+    /**
+     * Keeps the limit violations on the equipments inside of a study perimeter, the perimeter is evaluated on the already loaded network.
+     * A perimeter without any criterion holds the whole network.
+     */
+    public List<LimitViolation> filterPerimeterViolations(@NonNull Network network, @NonNull GlobalFilter perimeter, @NonNull List<LimitViolation> violations) {
+        if (!hasCriteria(perimeter)) {
+            return violations;
+        }
+        Set<String> genericFilterIds = isEmpty(perimeter.getGenericFilter()) ? null : getFilters(perimeter.getGenericFilter()).stream()
+            .flatMap(filter -> FilterServiceUtils.getIdentifiableAttributes(filter, network, this::getFilters).stream())
+            .map(IdentifiableAttributes::getId)
+            .collect(Collectors.toSet());
+        return violations.stream()
+            .filter(violation -> isEmpty(perimeter.getLimitViolationsTypes()) || perimeter.getLimitViolationsTypes().contains(violation.getLimitType()))
+            .filter(violation -> isInPerimeter(network.getIdentifiable(violation.getSubjectId()), perimeter, genericFilterIds))
+            .toList();
+    }
+
+    private static boolean hasCriteria(GlobalFilter perimeter) {
+        return !isEmpty(perimeter.getVoltageRanges())
+            || !isEmpty(perimeter.getCountryCode())
+            || perimeter.getSubstationProperty() != null && !perimeter.getSubstationProperty().isEmpty()
+            || !isEmpty(perimeter.getGenericFilter())
+            || !isEmpty(perimeter.getLimitViolationsTypes());
+    }
+
+    /**
+     * An equipment is inside of the perimeter when one of its voltage levels matches each criterion,
+     * generic filters select it directly or through one of its voltage levels or substations
+     */
+    private static boolean isInPerimeter(Identifiable<?> equipment, GlobalFilter perimeter, Set<String> genericFilterIds) {
+        if (equipment == null) {
+            return false;
+        }
+        List<VoltageLevel> voltageLevels = getVoltageLevels(equipment);
+        return (isEmpty(perimeter.getVoltageRanges()) || voltageLevels.stream().anyMatch(voltageLevel -> perimeter.getVoltageRanges().stream()
+                .anyMatch(range -> voltageLevel.getNominalV() >= range.get(0) && voltageLevel.getNominalV() <= range.get(1))))
+            && (isEmpty(perimeter.getCountryCode()) || voltageLevels.stream().anyMatch(voltageLevel -> voltageLevel.getSubstation()
+                .flatMap(Substation::getCountry)
+                .filter(perimeter.getCountryCode()::contains)
+                .isPresent()))
+            && (perimeter.getSubstationProperty() == null || perimeter.getSubstationProperty().entrySet().stream()
+                .allMatch(property -> voltageLevels.stream().anyMatch(voltageLevel -> voltageLevel.getSubstation()
+                    .map(substation -> substation.getProperty(property.getKey()))
+                    .filter(property.getValue()::contains)
+                    .isPresent())))
+            && (genericFilterIds == null || genericFilterIds.contains(equipment.getId()) || voltageLevels.stream()
+                .anyMatch(voltageLevel -> genericFilterIds.contains(voltageLevel.getId())
+                    || voltageLevel.getSubstation().map(Substation::getId).filter(genericFilterIds::contains).isPresent()));
+    }
+
+    private static List<VoltageLevel> getVoltageLevels(Identifiable<?> equipment) {
+        return switch (equipment) {
+            case VoltageLevel voltageLevel -> List.of(voltageLevel);
+            case Branch<?> branch -> List.of(branch.getTerminal1().getVoltageLevel(), branch.getTerminal2().getVoltageLevel());
+            case ThreeWindingsTransformer transformer -> transformer.getLegs().stream().map(leg -> leg.getTerminal().getVoltageLevel()).toList();
+            case Injection<?> injection -> List.of(injection.getTerminal().getVoltageLevel());
+            default -> List.of();
+        };
+    }
+
+    private static boolean isEmpty(Collection<?> collection) {
+        return collection == null || collection.isEmpty();
+    }
+
+    private Optional<ResourceFilterDTO> resolveResourceFilter(UUID networkUuid, String variantId, GlobalFilter globalFilter) {
         // Get equipment types from violation types
         List<EquipmentType> equipmentTypes = getEquipmentTypes(globalFilter.getLimitViolationsTypes());
 
@@ -0,0 +1,29 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.loadflow.server.service;
+
+import org.gridsuite.loadflow.server.dto.modifications.TapPositionType;
+
+/**
+ * Records the solved values modifications while they are applied on the network, then gives them as JSON to the result storage.
+ * It must be closed once the result is saved, or when the run fails before.
+ *
+ * @author Anis Touri <anis.touri at rte-france.com>
+ */
+public interface LoadFlowModificationsRecorder extends AutoCloseable {
+
+    void add2WTTapPositionValues(String twoWindingsTransformerId, Integer initialTapPosition, Integer solvedTapPosition, TapPositionType type);
+
+    void addSCSectionCountValue(String shuntCompensatorId, Integer initialSectionCount, Integer solvedSectionCount);
+
+    byte[] toCompressedJson();
+
+    String toJsonString();
+
+    @Override
+    void close();
+}
@@ -6,7 +6,12 @@
  */
 package org.gridsuite.loadflow.server.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.powsybl.loadflow.LoadFlowParameters;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import lombok.NonNull;
 import org.gridsuite.loadflow.server.dto.parameters.LimitReductionsByVoltageLevel;
 import org.gridsuite.loadflow.server.dto.parameters.LoadFlowParametersInfos;
@@ -17,6 +22,10 @@ import org.gridsuite.loadflow.server.repositories.parameters.LoadFlowParametersR
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -34,11 +43,31 @@ public class LoadFlowParametersService {
 
     private final String defaultProvider;
 
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Parameters values read by the run submissions, kept as JSON so that each run gets its own copy to modify.
+     * Each read checks the version of the parameters in the database, so that the updates of the other instances are seen at once
+     */
+    private final Cache<UUID, VersionedParametersValues> parametersValues;
+
+    private record VersionedParametersValues(long version, byte[] json) { }
+
     public LoadFlowParametersService(@NonNull LoadFlowParametersRepository loadFlowParametersRepository,
-            @Value("${loadflow.default-provider}") String defaultProvider, @NonNull LimitReductionService limitReductionService) {
+            @Value("${loadflow.default-provider}") String defaultProvider, @NonNull LimitReductionService limitReductionService,
+            @NonNull ObjectMapper objectMapper, @NonNull MeterRegistry meterRegistry,
+            @Value("${loadflow.parameters-cache.maximum-size:1000}") long cacheMaximumSize,
+            @Value("${loadflow.parameters-cache.expire-after-access:1h}") Duration cacheExpireAfterAccess) {
         this.loadFlowParametersRepository = loadFlowParametersRepository;
         this.defaultProvider = defaultProvider;
         this.limitReductionService = limitReductionService;
+        this.objectMapper = objectMapper;
+        this.parametersValues = Caffeine.newBuilder()
+            .maximumSize(cacheMaximumSize)
+            .expireAfterAccess(cacheExpireAfterAccess)
+            .recordStats()
+            .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, parametersValues, "loadflow.parameters.values");
     }
 
     private Optional<List<LimitReductionsByVoltageLevel>> getLimitReductionsForProvider(LoadFlowParametersEntity entity) {
@@ -68,21 +97,45 @@ public class LoadFlowParametersService {
 
     @Transactional(readOnly = true)
     public Optional<LoadFlowParametersInfos> getParameters(UUID parametersUuid) {
-        return loadFlowParametersRepository.findById(parametersUuid).map(this::toLoadFlowParametersInfos);
+        return loadFlowParametersRepository.findWithCollectionsById(parametersUuid).map(this::toLoadFlowParametersInfos);
     }
 
     @Transactional(readOnly = true)
     public Optional<LoadFlowParametersValues> getParametersValues(UUID parametersUuid, String provider) {
-        return loadFlowParametersRepository.findById(parametersUuid).map(entity -> toLoadFlowParametersValues(provider, entity));
+        return loadFlowParametersRepository.findWithCollectionsById(parametersUuid).map(entity -> toLoadFlowParametersValues(provider, entity));
     }
 
     public LoadFlowParametersValues getParametersValues(UUID parametersUuid) {
-        return loadFlowParametersRepository.findById(parametersUuid)
-                .map(this::toLoadFlowParametersValues).orElseThrow();
+        // only the version is read when the cached values are up to date
+        long version = loadFlowParametersRepository.findVersionById(parametersUuid).orElseThrow();
+        VersionedParametersValues cachedValues = parametersValues.getIfPresent(parametersUuid);
+        if (cachedValues == null || cachedValues.version() != version) {
+            LoadFlowParametersEntity entity = loadFlowParametersRepository.findWithCollectionsById(parametersUuid).orElseThrow();
+            cachedValues = new VersionedParametersValues(entity.getVersion(), toJson(toLoadFlowParametersValues(entity)));
+            parametersValues.put(parametersUuid, cachedValues);
+        }
+        try {
+            return objectMapper.readValue(cachedValues.json(), LoadFlowParametersValues.class);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private byte[] toJson(LoadFlowParametersValues loadFlowParametersValues) {
+        try {
+            return objectMapper.writeValueAsBytes(loadFlowParametersValues);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void evictParametersValues(UUID parametersUuid) {
+        // the values cached again by a run submitted before the commit are replaced by the next read, their version being outdated
+        parametersValues.invalidate(parametersUuid);
     }
 
     public List<LoadFlowParametersInfos> getAllParameters() {
-        return loadFlowParametersRepository.findAll().stream().map(this::toLoadFlowParametersInfos).toList();
+        return loadFlowParametersRepository.findAllWithCollections().stream().map(this::toLoadFlowParametersInfos).toList();
     }
 
     @Transactional
@@ -94,15 +147,17 @@ public class LoadFlowParametersService {
         } else {
             loadFlowParametersEntity.update(parametersInfos);
         }
+        evictParametersValues(parametersUuid);
     }
 
     public void deleteParameters(UUID parametersUuid) {
         loadFlowParametersRepository.deleteById(parametersUuid);
+        evictParametersValues(parametersUuid);
     }
 
     @Transactional
     public Optional<UUID> duplicateParameters(UUID sourceParametersUuid) {
-        return loadFlowParametersRepository.findById(sourceParametersUuid)
+        return loadFlowParametersRepository.findWithCollectionsById(sourceParametersUuid)
                 .map(e -> toLoadFlowParametersInfos(e).toEntity())
             .map(loadFlowParametersRepository::save)
             .map(LoadFlowParametersEntity::getId);
@@ -8,14 +8,18 @@ package org.gridsuite.loadflow.server.service;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.gridsuite.computation.dto.GlobalFilter;
 import org.gridsuite.computation.dto.ReportInfos;
 import org.gridsuite.computation.service.AbstractResultContext;
+import org.gridsuite.computation.utils.FilterUtils;
 import org.gridsuite.computation.utils.MessageUtils;
+import org.gridsuite.loadflow.server.dto.RunPriority;
 import org.gridsuite.loadflow.server.dto.parameters.LoadFlowParametersValues;
 import org.springframework.messaging.Message;
 import org.springframework.messaging.MessageHeaders;
 
 import java.io.UncheckedIOException;
+import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
 import java.util.UUID;
@@ -25,14 +29,33 @@ import static org.gridsuite.computation.service.NotificationService.*;
 public class LoadFlowResultContext extends AbstractResultContext<LoadFlowRunContext> {
 
     private static final String APPLY_SOLVED_VALUES_HEADER = "applySolvedValues";
+    private static final String DRY_RUN_HEADER = "dryRun";
+    private static final String FINGERPRINT_HEADER = "fingerprint";
+    // the "priority" header is the message priority of the broker
+    private static final String RUN_PRIORITY_HEADER = "runPriority";
+    private static final String PERIMETER_HEADER = "perimeter";
 
     public LoadFlowResultContext(UUID resultUuid, LoadFlowRunContext runContext) {
         super(resultUuid, runContext);
     }
 
     @Override
-    protected Map<String, String> getSpecificMsgHeaders(ObjectMapper ignoredObjectMapper) {
-        return Map.of(APPLY_SOLVED_VALUES_HEADER, Boolean.toString(getRunContext().isApplySolvedValues()));
+    protected Map<String, String> getSpecificMsgHeaders(ObjectMapper objectMapper) {
+        Map<String, String> headers = new HashMap<>();
+        headers.put(APPLY_SOLVED_VALUES_HEADER, Boolean.toString(getRunContext().isApplySolvedValues()));
+        headers.put(DRY_RUN_HEADER, Boolean.toString(getRunContext().isDryRun()));
+        headers.put(RUN_PRIORITY_HEADER, getRunContext().getPriority().name());
+        if (getRunContext().getFingerprint() != null) {
+            headers.put(FINGERPRINT_HEADER, getRunContext().getFingerprint());
+        }
+        if (getRunContext().getPerimeter() != null) {
+            try {
+                headers.put(PERIMETER_HEADER, objectMapper.writeValueAsString(getRunContext().getPerimeter()));
+            } catch (JsonProcessingException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return headers;
     }
 
     public static LoadFlowResultContext fromMessage(Message<String> message, ObjectMapper objectMapper) {
@@ -45,6 +68,10 @@ public class LoadFlowResultContext extends AbstractResultContext<LoadFlowRunCont
         String provider = (String) headers.get(HEADER_PROVIDER);
         String userId = (String) headers.get(HEADER_USER_ID);
         boolean applySolvedValues = Boolean.parseBoolean((String) headers.get(APPLY_SOLVED_VALUES_HEADER));
+        boolean dryRun = Boolean.parseBoolean((String) headers.get(DRY_RUN_HEADER));
+        String fingerprint = (String) headers.get(FINGERPRINT_HEADER);
+        GlobalFilter perimeter = FilterUtils.fromStringGlobalFiltersToDTO((String) headers.get(PERIMETER_HEADER), objectMapper);
+        RunPriority priority = headers.get(RUN_PRIORITY_HEADER) != null ? RunPriority.valueOf((String) headers.get(RUN_PRIORITY_HEADER)) : RunPriority.INTERACTIVE;
 
         LoadFlowParametersValues parameters;
         try {
@@ -65,6 +92,10 @@ public class LoadFlowResultContext extends AbstractResultContext<LoadFlowRunCont
                         .parameters(parameters)
                         .withRatioTapChangers(parameters.getCommonParameters().isTransformerVoltageControlOn())
                         .applySolvedValues(applySolvedValues)
+                        .dryRun(dryRun)
+                        .fingerprint(fingerprint)
+                        .priority(priority)
+                        .perimeter(perimeter)
                         .reportInfos(ReportInfos.builder().reportUuid(reportUuid).reporterId(reporterId).computationType(reportType).build())
                         .userId(userId)
                         .build();
@@ -0,0 +1,46 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.loadflow.server.service;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * @author Anis Touri <anis.touri at rte-france.com>
+ */
+@Setter
+@Getter
+@Component
+@ConfigurationProperties(prefix = "loadflow.result")
+public class LoadFlowResultProperties {
+    /**
+     * Store the solved values modifications as gzip compressed JSON instead of a JSON CLOB
+     */
+    private boolean compressModifications = true;
+
+    /**
+     * Serialize the solved values modifications while they are applied instead of keeping them in memory until the result is saved
+     */
+    private boolean streamModifications = true;
+
+    /**
+     * Insert the result in the database while the network is flushed in the network store, instead of one after the other
+     */
+    private boolean concurrentSave = false;
+
+    /**
+     * Above this number of equipment ids, a global filter on the limit violations is bound as a single array parameter instead of as a SQL IN list
+     */
+    private int globalFilterArrayThreshold = 1000;
+
+    /**
+     * Only store the most severe limit violations of each type, along with the total number of violations of each type; 0 stores all of them
+     */
+    private int maxLimitViolationsPerType = 0;
+}
@@ -29,6 +29,7 @@ import org.gridsuite.loadflow.server.repositories.CountryAdequacyRepository;
 import org.gridsuite.loadflow.server.repositories.ExchangeRepository;
 import org.gridsuite.loadflow.server.repositories.GlobalStatusRepository;
 import org.gridsuite.loadflow.server.repositories.LimitViolationRepository;
+import org.gridsuite.loadflow.server.repositories.ResultAliasRepository;
 import org.gridsuite.loadflow.server.repositories.ResultRepository;
 import org.gridsuite.loadflow.server.repositories.parameters.SlackBusResultRepository;
 import org.gridsuite.loadflow.server.repositories.specifications.ComponentResultSpecificationBuilder;
@@ -40,13 +41,17 @@ import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.DigestUtils;
 
-import java.io.UncheckedIOException;
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.time.Instant;
 import java.util.*;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
+import java.util.zip.GZIPInputStream;
 
 import static org.gridsuite.computation.utils.FilterUtils.fromStringFiltersToDTO;
 
@@ -61,6 +66,7 @@ public class LoadFlowResultService extends AbstractComputationResultService<Load
     private GlobalStatusRepository globalStatusRepository;
 
     private ResultRepository resultRepository;
+    private final ResultAliasRepository resultAliasRepository;
     private final ComponentResultRepository componentResultRepository;
     private final LimitViolationRepository limitViolationRepository;
     private final SlackBusResultRepository slackBusResultRepository;
@@ -73,9 +79,11 @@ public class LoadFlowResultService extends AbstractComputationResultService<Load
 
     private final ObjectMapper objectMapper;
     private final FilterService filterService;
+    private final LoadFlowResultProperties resultProperties;
 
-    private LoadFlowResultEntity toResultEntity(UUID resultUuid, LoadFlowResult result, String solvedValuesInfos,
+    private LoadFlowResultEntity toResultEntity(UUID resultUuid, LoadFlowResult result, LoadFlowModificationsRecorder loadFlowModifications,
                                                 List<LimitViolationInfos> limitViolationInfos,
+                                                Map<LimitViolationType, Long> limitViolationCounts,
                                                 Map<Pair<Integer, Integer>, LoadFlowWorkerService.ComponentCalculatedInfos> componentInfos,
                                                 List<CountryAdequacy> countryAdequacies,
                                                 Map<String, List<Exchange>> exchanges) {
@@ -92,8 +100,12 @@ public class LoadFlowResultService extends AbstractComputationResultService<Load
                 .map(exchangeEntry -> toExchangeMapEntryEntity(resultUuid, exchangeEntry.getKey(), exchangeEntry.getValue()))
             .toList();
 
-        return new LoadFlowResultEntity(resultUuid, Instant.now(), solvedValuesInfos, componentResults,
-                                        limitViolations, countryAdequacyEntities, exchangeMapEntryEntities);
+        boolean compressModifications = resultProperties.isCompressModifications();
+        return new LoadFlowResultEntity(resultUuid, Instant.now(),
+                                        compressModifications || loadFlowModifications == null ? null : loadFlowModifications.toJsonString(),
+                                        compressModifications && loadFlowModifications != null ? loadFlowModifications.toCompressedJson() : null,
+                                        componentResults, limitViolations, countryAdequacyEntities, exchangeMapEntryEntities, null,
+                                        limitViolationCounts != null ? new HashMap<>(limitViolationCounts) : null);
     }
 
     private static ComponentResultEntity toComponentResultEntity(UUID resultUuid,
@@ -128,7 +140,22 @@ public class LoadFlowResultService extends AbstractComputationResultService<Load
     }
 
     private static GlobalStatusEntity toStatusEntity(UUID resultUuid, LoadFlowStatus status) {
-        return new GlobalStatusEntity(resultUuid, status);
+        return new GlobalStatusEntity(resultUuid, status, null, null);
+    }
+
+    @Transactional
+    public void insertRunningStatus(UUID resultUuid, String userId) {
+        Objects.requireNonNull(resultUuid);
+        globalStatusRepository.save(new GlobalStatusEntity(resultUuid, LoadFlowStatus.RUNNING, userId, Instant.now()));
+    }
+
+    /**
+     * @return the number of runs of the user waiting or in progress submitted within the given window,
+     * the status of a run forgets its user once the run ends
+     */
+    @Transactional(readOnly = true)
+    public long countRunningRuns(String userId, Duration window) {
+        return globalStatusRepository.countByUserIdAndStatusAndSubmissionDateAfter(userId, LoadFlowStatus.RUNNING, Instant.now().minus(window));
     }
 
     @Override
@@ -143,15 +170,18 @@ public class LoadFlowResultService extends AbstractComputationResultService<Load
     public void insert(UUID resultUuid,
                        LoadFlowResult result,
                        LoadFlowStatus status,
-                       LoadFlowModificationInfos loadFlowModificationInfos,
+                       LoadFlowModificationsRecorder loadFlowModifications,
                        List<LimitViolationInfos> limitViolationInfos,
+                       Map<LimitViolationType, Long> limitViolationCounts,
                        Map<Pair<Integer, Integer>, LoadFlowWorkerService.ComponentCalculatedInfos> componentInfos,
                        List<CountryAdequacy> countryAdequacies,
                        Map<String, List<Exchange>> exchanges) {
         Objects.requireNonNull(resultUuid);
         if (result != null) {
-            resultRepository.save(toResultEntity(resultUuid, result, modificationsToJsonString(loadFlowModificationInfos),
-                limitViolationInfos, componentInfos, countryAdequacies, exchanges));
+            resultRepository.save(toResultEntity(resultUuid, result, loadFlowModifications,
+                limitViolationInfos, limitViolationCounts, componentInfos, countryAdequacies, exchanges));
+            // the stored result is served for its own result UUID as for any other one
+            resultAliasRepository.save(new LoadFlowResultAliasEntity(resultUuid, resultUuid));
         }
         globalStatusRepository.save(toStatusEntity(resultUuid, status));
     }
@@ -208,18 +238,65 @@ public class LoadFlowResultService extends AbstractComputationResultService<Load
     public void delete(UUID resultUuid) {
         Objects.requireNonNull(resultUuid);
         globalStatusRepository.deleteByResultUuid(resultUuid);
-        resultRepository.deleteByResultUuid(resultUuid);
+        resultAliasRepository.findById(resultUuid).ifPresent(alias -> {
+            resultAliasRepository.delete(alias);
+            // a stored result is deleted with the last result UUID it serves
+            if (!resultAliasRepository.existsByResultUuid(alias.getResultUuid())) {
+                resultRepository.deleteByResultUuid(alias.getResultUuid());
+            }
+        });
     }
 
     public Optional<LoadFlowResultEntity> findResults(UUID resultUuid) {
         Objects.requireNonNull(resultUuid);
-        return resultRepository.findByResultUuid(resultUuid);
+        return resolveResultUuid(resultUuid).flatMap(resultRepository::findByResultUuid);
+    }
+
+    /**
+     * The UUID of the stored result served for a result UUID, empty once the result UUID is deleted.
+     */
+    private Optional<UUID> resolveResultUuid(UUID resultUuid) {
+        return resultAliasRepository.findById(resultUuid).map(LoadFlowResultAliasEntity::getResultUuid);
+    }
+
+    /**
+     * Marks a saved result as reusable by any later run with the same fingerprint.
+     */
+    @Transactional
+    public void saveFingerprint(UUID resultUuid, String fingerprint) {
+        Objects.requireNonNull(resultUuid);
+        resolveResultUuid(resultUuid).ifPresent(storedResultUuid -> resultRepository.updateFingerprint(storedResultUuid, fingerprint));
+    }
+
+    /**
+     * Serves a new result UUID with the result stored for the same fingerprint, if any.
+     *
+     * @return the status of the reused result, empty if there is no result to reuse
+     */
+    @Transactional
+    public Optional<LoadFlowStatus> insertAliasByFingerprint(UUID resultUuid, String fingerprint) {
+        Objects.requireNonNull(resultUuid);
+        Objects.requireNonNull(fingerprint);
+        for (UUID storedResultUuid : resultRepository.findResultUuidsByFingerprint(fingerprint)) {
+            // the status is taken from one of the result UUIDs served by the stored result
+            Optional<LoadFlowStatus> status = resultAliasRepository.findAllByResultUuid(storedResultUuid).stream()
+                .map(alias -> findStatus(alias.getAliasUuid()))
+                .filter(Objects::nonNull)
+                .findFirst();
+            if (status.isPresent()) {
+                resultAliasRepository.save(new LoadFlowResultAliasEntity(resultUuid, storedResultUuid));
+                globalStatusRepository.save(toStatusEntity(resultUuid, status.get()));
+                return status;
+            }
+        }
+        return Optional.empty();
     }
 
     @Override
     @Transactional
     public void deleteAll() {
         globalStatusRepository.deleteAll();
+        resultAliasRepository.deleteAll();
         resultRepository.deleteAll();
     }
 
@@ -242,6 +319,12 @@ public class LoadFlowResultService extends AbstractComputationResultService<Load
         return limitViolationRepository.findAll(specification, sort);
     }
 
+    private List<LimitViolationInfos> findLimitViolationsInfos(UUID resultUuid, List<ResourceFilterDTO> resourceFilters, Sort sort) {
+        Objects.requireNonNull(resultUuid);
+        Specification<LimitViolationEntity> specification = limitViolationsSpecificationBuilder.buildSpecification(resultUuid, resourceFilters);
+        return limitViolationRepository.findAllInfos(specification, sort);
+    }
+
     public List<CountryAdequacyEntity> findCountryAdequacies(UUID resultUuid) {
         Objects.requireNonNull(resultUuid);
         return countryAdequacyRepository.findByLoadFlowResultResultUuid(resultUuid);
@@ -262,8 +345,9 @@ public class LoadFlowResultService extends AbstractComputationResultService<Load
         if (loadFlowResultEntity == null) {
             return null;
         }
+        UUID storedResultUuid = loadFlowResultEntity.getResultUuid();
         List<ResourceFilterDTO> resourceFilters = fromStringFiltersToDTO(stringFilters, objectMapper);
-        List<ComponentResultEntity> componentResults = findComponentResults(resultUuid, resourceFilters, sort);
+        List<ComponentResultEntity> componentResults = findComponentResults(storedResultUuid, resourceFilters, sort);
         boolean hasChildFilter = resourceFilters.stream().anyMatch(slackBusResultSpecificationBuilder::isNotParentFilter);
         List<SlackBusResultEntity> slackBusResultEntities = new ArrayList<>();
         if (hasChildFilter) {
@@ -271,16 +355,31 @@ public class LoadFlowResultService extends AbstractComputationResultService<Load
         }
         loadFlowResultEntity.setComponentResults(componentResults);
 
-        List<CountryAdequacyEntity> countryAdequacies = findCountryAdequacies(resultUuid);
+        List<CountryAdequacyEntity> countryAdequacies = findCountryAdequacies(storedResultUuid);
         loadFlowResultEntity.setCountryAdequacies(countryAdequacies);
-        List<ExchangeMapEntryEntity> exchanges = findExchanges(resultUuid);
+        List<ExchangeMapEntryEntity> exchanges = findExchanges(storedResultUuid);
         loadFlowResultEntity.setExchanges(exchanges);
 
-        loadFlowResult = fromEntity(loadFlowResultEntity, slackBusResultEntities, hasChildFilter);
+        loadFlowResult = fromEntity(resultUuid, loadFlowResultEntity, slackBusResultEntities, hasChildFilter);
         LOGGER.info("Get LoadFlow Results {} in {}ms", resultUuid, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime.get()));
         return loadFlowResult;
     }
 
+    /**
+     * A stored result never changes until it is deleted, so an ETag computed from its UUID, its write timestamp and
+     * the query parameters identifies a response. Empty if the result does not exist.
+     */
+    @Transactional(readOnly = true)
+    public Optional<String> getResultETag(UUID resultUuid, List<?> queryParameters) {
+        Objects.requireNonNull(resultUuid);
+        return resolveResultUuid(resultUuid).flatMap(resultRepository::findWriteTimeStampByResultUuid)
+            .map(writeTimeStamp -> {
+                StringJoiner key = new StringJoiner("|").add(resultUuid.toString()).add(writeTimeStamp.toString());
+                queryParameters.forEach(queryParameter -> key.add(String.valueOf(queryParameter)));
+                return DigestUtils.md5DigestAsHex(key.toString().getBytes(StandardCharsets.UTF_8));
+            });
+    }
+
     @Transactional(readOnly = true)
     public LoadFlowModificationInfos getLoadFlowModifications(UUID resultUuid) {
         LoadFlowResultEntity loadFlowResultEntity = findResults(resultUuid).orElse(null);
@@ -288,7 +387,9 @@ public class LoadFlowResultService extends AbstractComputationResultService<Load
             return null;
         }
 
-        return loadFlowModificationsToDTO(loadFlowResultEntity.getModifications());
+        return loadFlowResultEntity.getCompressedModifications() != null
+            ? compressedModificationsToDTO(loadFlowResultEntity.getCompressedModifications())
+            : loadFlowModificationsToDTO(loadFlowResultEntity.getModifications());
     }
 
     private static Map<String, List<Exchange>> convertToExchangeMap(List<ExchangeMapEntryEntity> exchangeMapEntries) {
@@ -310,9 +411,9 @@ public class LoadFlowResultService extends AbstractComputationResultService<Load
             .build();
     }
 
-    private static org.gridsuite.loadflow.server.dto.LoadFlowResult fromEntity(LoadFlowResultEntity resultEntity, List<SlackBusResultEntity> slackBusResultEntities, boolean hasChildFilter) {
+    private static org.gridsuite.loadflow.server.dto.LoadFlowResult fromEntity(UUID resultUuid, LoadFlowResultEntity resultEntity, List<SlackBusResultEntity> slackBusResultEntities, boolean hasChildFilter) {
         return org.gridsuite.loadflow.server.dto.LoadFlowResult.builder()
-                .resultUuid(resultEntity.getResultUuid())
+                .resultUuid(resultUuid)
                 .writeTimeStamp(resultEntity.getWriteTimeStamp())
                 .componentResults(resultEntity.getComponentResults().stream().map(result -> LoadFlowService.fromEntity(result, slackBusResultEntities, hasChildFilter)).toList())
                 .countryAdequacies(resultEntity.getCountryAdequacies().stream().map(LoadFlowService::fromEntity).toList())
@@ -330,12 +431,13 @@ public class LoadFlowResultService extends AbstractComputationResultService<Load
 
     public List<LoadFlowResult.ComponentResult.Status> findComputingStatus(UUID resultUuid) {
         Objects.requireNonNull(resultUuid);
-        return componentResultRepository.findComputingStatus(resultUuid);
+        return resolveResultUuid(resultUuid).map(componentResultRepository::findComputingStatus).orElse(List.of());
     }
 
     @Transactional(readOnly = true)
     public List<LimitViolationInfos> getLimitViolationsInfos(UUID resultUuid, String stringFilters, String stringGlobalFilters, Sort sort, UUID networkUuid, String variantId) {
-        if (!limitViolationRepository.existsLimitViolationEntitiesByLoadFlowResultResultUuid(resultUuid)) {
+        UUID storedResultUuid = resolveResultUuid(resultUuid).orElse(null);
+        if (storedResultUuid == null || !limitViolationRepository.existsLimitViolationEntitiesByLoadFlowResultResultUuid(storedResultUuid)) {
             return List.of();
         }
 
@@ -344,43 +446,66 @@ public class LoadFlowResultService extends AbstractComputationResultService<Load
         GlobalFilter globalFilter = FilterUtils.fromStringGlobalFiltersToDTO(stringGlobalFilters, objectMapper);
         if (globalFilter != null) {
             Optional<ResourceFilterDTO> resourceGlobalFilters = filterService.getResourceFilter(networkUuid, variantId, globalFilter);
-            if (resourceGlobalFilters.isPresent()) {
-                resourceFilters.add(resourceGlobalFilters.get());
-            } else {
+            if (resourceGlobalFilters.isEmpty()) {
                 return List.of();
             }
+            String[] subjectIds = toLargeSubjectIdArray(resourceGlobalFilters.get());
+            if (subjectIds != null) {
+                // a huge IN list is planned badly and may exceed the bind parameters limit: the subject ids are bound as an array instead
+                Specification<LimitViolationEntity> specification = limitViolationsSpecificationBuilder.buildSpecification(storedResultUuid, resourceFilters)
+                    .and(limitViolationsSpecificationBuilder.subjectIdIn(subjectIds));
+                return limitViolationRepository.findAllInfos(specification, sort);
+            }
+            resourceFilters.add(resourceGlobalFilters.get());
+        }
+        return findLimitViolationsInfos(storedResultUuid, resourceFilters, sort);
+    }
+
+    private String[] toLargeSubjectIdArray(ResourceFilterDTO globalResourceFilter) {
+        if (globalResourceFilter.type() != ResourceFilterDTO.Type.IN
+            || !(globalResourceFilter.value() instanceof Collection<?> values)
+            || values.size() <= resultProperties.getGlobalFilterArrayThreshold()) {
+            return null;
         }
-        List<LimitViolationEntity> limitViolationResult = findLimitViolations(resultUuid, resourceFilters, sort);
-        return limitViolationResult.stream().map(LimitViolationInfos::toLimitViolationInfos).toList();
+        return values.stream().map(String::valueOf).distinct().toArray(String[]::new);
     }
 
     @Transactional(readOnly = true)
     public List<LimitViolationInfos> getCurrentLimitViolationsInfos(UUID resultUuid) {
-        if (!limitViolationRepository.existsLimitViolationEntitiesByLoadFlowResultResultUuid(resultUuid)) {
+        UUID storedResultUuid = resolveResultUuid(resultUuid).orElse(null);
+        if (storedResultUuid == null || !limitViolationRepository.existsLimitViolationEntitiesByLoadFlowResultResultUuid(storedResultUuid)) {
             return List.of();
         }
 
         List<ResourceFilterDTO> resourceFilters = List.of(
             new ResourceFilterDTO(ResourceFilterDTO.DataType.TEXT, ResourceFilterDTO.Type.EQUALS, List.of("CURRENT"), Column.LIMIT_TYPE.columnName()));
 
-        return findLimitViolations(resultUuid, resourceFilters, Sort.unsorted()).stream()
-            .map(LimitViolationInfos::toLimitViolationInfos)
-            .toList();
+        return findLimitViolationsInfos(storedResultUuid, resourceFilters, Sort.unsorted());
+    }
+
+    @Transactional(readOnly = true)
+    public Map<LimitViolationType, Long> getLimitViolationCounts(UUID resultUuid) {
+        return findResults(resultUuid)
+            .map(LoadFlowResultEntity::getLimitViolationCounts)
+            .map(Map::copyOf)
+            .orElse(Map.of());
     }
 
     public List<LimitViolationType> getLimitTypes(UUID resultUuid) {
         Objects.requireNonNull(resultUuid);
-        return limitViolationRepository.findLimitTypes(resultUuid);
+        return resolveResultUuid(resultUuid).map(limitViolationRepository::findLimitTypes).orElse(List.of());
     }
 
     public List<ThreeSides> getBranchSides(UUID resultUuid) {
         Objects.requireNonNull(resultUuid);
-        return limitViolationRepository.findBranchSides(resultUuid);
+        return resolveResultUuid(resultUuid).map(limitViolationRepository::findBranchSides).orElse(List.of());
     }
 
     public List<LimitViolationEntity> findLimitViolations(UUID resultUuid, List<ResourceFilterDTO> resourceFilters, Sort sort) {
         Objects.requireNonNull(resultUuid);
-        return findLimitViolationsEntities(resultUuid, resourceFilters, sort);
+        return resolveResultUuid(resultUuid)
+            .map(storedResultUuid -> findLimitViolationsEntities(storedResultUuid, resourceFilters, sort))
+            .orElse(List.of());
     }
 
     private LoadFlowModificationInfos loadFlowModificationsToDTO(String jsonString) {
@@ -394,14 +519,12 @@ public class LoadFlowResultService extends AbstractComputationResultService<Load
         }
     }
 
-    private String modificationsToJsonString(LoadFlowModificationInfos loadFlowModificationInfos) {
-        if (loadFlowModificationInfos == null) {
-            return null;
-        }
-        try {
-            return objectMapper.writeValueAsString(loadFlowModificationInfos);
-        } catch (JsonProcessingException e) {
-            throw new UncheckedIOException("Invalid modifications for json string !", e);
+    private LoadFlowModificationInfos compressedModificationsToDTO(byte[] compressedJson) {
+        // decode directly from the inflated stream without building the whole JSON string
+        try (InputStream inputStream = new GZIPInputStream(new ByteArrayInputStream(compressedJson))) {
+            return objectMapper.readValue(inputStream, LoadFlowModificationInfos.class);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Invalid compressed json for modifications !", e);
         }
     }
 }
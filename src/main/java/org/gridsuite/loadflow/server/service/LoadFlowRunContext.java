@@ -13,8 +13,11 @@ import com.powsybl.loadflow.LoadFlowParameters;
 import com.powsybl.loadflow.LoadFlowProvider;
 import lombok.Builder;
 import lombok.Getter;
+import lombok.Setter;
+import org.gridsuite.computation.dto.GlobalFilter;
 import org.gridsuite.computation.dto.ReportInfos;
 import org.gridsuite.computation.service.AbstractComputationRunContext;
+import org.gridsuite.loadflow.server.dto.RunPriority;
 import org.gridsuite.loadflow.server.dto.parameters.LoadFlowParametersValues;
 
 import java.util.UUID;
@@ -27,6 +30,12 @@ public class LoadFlowRunContext extends AbstractComputationRunContext<LoadFlowPa
     private final UUID parametersUuid;
     private final boolean withRatioTapChangers;
     private final boolean applySolvedValues;
+    private final boolean dryRun;
+    private final String networkVersion;
+    private final RunPriority priority;
+    private final GlobalFilter perimeter;
+    @Setter
+    private String fingerprint;
     private final UUID resultUuid;
 
     public LoadFlowParameters buildParameters() {
@@ -49,11 +58,17 @@ public class LoadFlowRunContext extends AbstractComputationRunContext<LoadFlowPa
 
     @Builder
     public LoadFlowRunContext(UUID networkUuid, String variantId, String receiver, String provider, ReportInfos reportInfos, String userId,
-                              LoadFlowParametersValues parameters, UUID parametersUuid, boolean withRatioTapChangers, boolean applySolvedValues, UUID resultUuid) {
+                              LoadFlowParametersValues parameters, UUID parametersUuid, boolean withRatioTapChangers, boolean applySolvedValues, boolean dryRun, String networkVersion,
+                              String fingerprint, RunPriority priority, GlobalFilter perimeter, UUID resultUuid) {
         super(networkUuid, variantId, receiver, reportInfos, userId, provider, parameters);
         this.parametersUuid = parametersUuid;
         this.withRatioTapChangers = withRatioTapChangers;
         this.resultUuid = resultUuid;
         this.applySolvedValues = applySolvedValues;
+        this.dryRun = dryRun;
+        this.networkVersion = networkVersion;
+        this.fingerprint = fingerprint;
+        this.priority = priority != null ? priority : RunPriority.INTERACTIVE;
+        this.perimeter = perimeter;
     }
 }
@@ -0,0 +1,47 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.loadflow.server.service;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * @author Anis Touri <anis.touri at rte-france.com>
+ */
+@Setter
+@Getter
+@Component
+@ConfigurationProperties(prefix = "loadflow.run")
+public class LoadFlowRunProperties {
+    /**
+     * Number of runs of a same user waiting or in progress beyond which the next runs of this user are queued behind
+     * the runs of the other users, 0 for no limit
+     */
+    private int maxConcurrentRunsPerUser = 2;
+
+    /**
+     * Only the runs submitted within this window are counted for their user: the status of a run that never ended
+     * stays RUNNING, it must not hold back its user forever
+     */
+    private Duration userRunsWindow = Duration.ofHours(1);
+
+    /**
+     * Maximum number of runs solved at the same time by this instance, 0 for no limit. Set it below the number of run consumers
+     * so that network loading and result saving of some runs overlap with the solving of others without oversubscribing the cores
+     */
+    private int maxConcurrentSolverRuns = 0;
+
+    /**
+     * Number of the solver slots that the batch runs cannot use, so that the interactive runs are never all queued behind them.
+     * Only used when the number of runs solved at the same time is limited
+     */
+    private int reservedInteractiveSolverRuns = 0;
+}
@@ -6,12 +6,15 @@
  */
 package org.gridsuite.loadflow.server.service;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.powsybl.commons.config.PlatformConfig;
 import com.powsybl.commons.parameters.Parameter;
 import com.powsybl.commons.parameters.ParameterScope;
 import com.powsybl.loadflow.LoadFlowProvider;
 import com.powsybl.loadflow.LoadFlowResult.ComponentResult.Status;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.apache.commons.lang3.tuple.Pair;
 import org.gridsuite.computation.service.AbstractComputationService;
 import org.gridsuite.computation.service.NotificationService;
@@ -25,9 +28,15 @@ import org.gridsuite.loadflow.server.entities.SlackBusResultEntity;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.stream.function.StreamBridge;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.support.MessageBuilder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.DigestUtils;
 
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -40,16 +49,49 @@ public class LoadFlowService extends AbstractComputationService<LoadFlowRunConte
 
     public static final String COMPUTATION_TYPE = "loadflow";
 
+    private static final String PUBLISH_RUN_BATCH_BINDING = "publishRunBatch-out-0";
+
+    /**
+     * Message priority of the broker: quorum queues deliver the messages with a priority above 4 ahead of the others,
+     * two for one so that the others are not starved
+     */
+    static final String MESSAGE_PRIORITY_HEADER = "priority";
+    static final int HIGH_MESSAGE_PRIORITY = 5;
+    static final int NORMAL_MESSAGE_PRIORITY = 0;
+
+    private static final byte[] EMPTY_JSON_OBJECT = "{}".getBytes(StandardCharsets.UTF_8);
+
     private final LoadFlowParametersService parametersService;
+    private final StreamBridge runPublisher;
+    private final LoadFlowRunProperties runProperties;
+    private final Counter deprioritizedRunsCounter;
+
+    /**
+     * The providers are found on the classpath and their specific parameters read from the platform config,
+     * none of them can change while the server runs: they are loaded once, on first use, and kept serialized.
+     */
+    private volatile ProviderCatalog providerCatalog;
+
+    private record ProviderCatalog(List<String> providers, byte[] providersJson, byte[] specificParametersJson,
+                                   Map<String, byte[]> specificParametersJsonByProvider) {
+    }
 
     public LoadFlowService(NotificationService notificationService,
                            LoadFlowResultService resultService,
                            ObjectMapper objectMapper,
                            UuidGeneratorService uuidGeneratorService,
                            LoadFlowParametersService parametersService,
+                           StreamBridge runPublisher,
+                           LoadFlowRunProperties runProperties,
+                           MeterRegistry meterRegistry,
                            @Value("${loadflow.default-provider}") String defaultProvider) {
         super(notificationService, resultService, objectMapper, uuidGeneratorService, defaultProvider);
         this.parametersService = parametersService;
+        this.runPublisher = runPublisher;
+        this.runProperties = runProperties;
+        this.deprioritizedRunsCounter = Counter.builder("loadflow.user.runs.deprioritized")
+            .description("Runs queued behind the runs of the other users because their user had too many runs waiting or in progress")
+            .register(meterRegistry);
     }
 
     public UUID createRunningStatus() {
@@ -60,20 +102,55 @@ public class LoadFlowService extends AbstractComputationService<LoadFlowRunConte
 
     @Override
     public List<String> getProviders() {
-        return LoadFlowProvider.findAll().stream()
-                .map(LoadFlowProvider::getName)
-                .toList();
+        return getProviderCatalog().providers();
+    }
+
+    public byte[] getProvidersJson() {
+        return getProviderCatalog().providersJson();
+    }
+
+    /**
+     * @return the functional specific parameters of the given provider, or of all the providers when no provider is given,
+     * as a JSON object by provider name
+     */
+    public byte[] getSpecificLoadFlowParametersJson(String providerName) {
+        ProviderCatalog catalog = getProviderCatalog();
+        return providerName == null ? catalog.specificParametersJson() : catalog.specificParametersJsonByProvider().getOrDefault(providerName, EMPTY_JSON_OBJECT);
+    }
+
+    private ProviderCatalog getProviderCatalog() {
+        ProviderCatalog catalog = providerCatalog;
+        if (catalog == null) {
+            synchronized (this) {
+                catalog = providerCatalog;
+                if (catalog == null) {
+                    catalog = loadProviderCatalog();
+                    providerCatalog = catalog;
+                }
+            }
+        }
+        return catalog;
     }
 
-    public static Map<String, List<Parameter>> getSpecificLoadFlowParameters(String providerName) {
-        return LoadFlowProvider.findAll().stream()
-                .filter(provider -> providerName == null || provider.getName().equals(providerName))
+    private ProviderCatalog loadProviderCatalog() {
+        Map<String, List<Parameter>> specificParameters = LoadFlowProvider.findAll().stream()
                 .map(provider -> {
                     List<Parameter> params = provider.getSpecificParameters(PlatformConfig.defaultConfig()).stream()
                             .filter(p -> p.getScope() == ParameterScope.FUNCTIONAL)
                             .toList();
                     return Pair.of(provider.getName(), params);
-                }).collect(Collectors.toMap(Pair::getLeft, Pair::getRight));
+                }).collect(Collectors.toMap(Pair::getLeft, Pair::getRight, (params1, params2) -> params1, LinkedHashMap::new));
+        try {
+            List<String> providers = List.copyOf(specificParameters.keySet());
+            Map<String, byte[]> specificParametersJsonByProvider = new HashMap<>();
+            for (Map.Entry<String, List<Parameter>> entry : specificParameters.entrySet()) {
+                specificParametersJsonByProvider.put(entry.getKey(), objectMapper.writeValueAsBytes(Map.of(entry.getKey(), entry.getValue())));
+            }
+            return new ProviderCatalog(providers, objectMapper.writeValueAsBytes(providers),
+                objectMapper.writeValueAsBytes(specificParameters), Map.copyOf(specificParametersJsonByProvider));
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
     }
 
     @Override
@@ -86,12 +163,70 @@ public class LoadFlowService extends AbstractComputationService<LoadFlowRunConte
         loadFlowRunContext.setProvider(params.getProvider() != null ? params.getProvider() : getDefaultProvider());
         UUID resultUuid = loadFlowRunContext.getResultUuid();
 
+        if (loadFlowRunContext.getNetworkVersion() != null) {
+            String fingerprint = computeFingerprint(loadFlowRunContext);
+            Optional<LoadFlowStatus> reusedResultStatus = resultService.insertAliasByFingerprint(resultUuid, fingerprint);
+            if (reusedResultStatus.isPresent()) {
+                LOGGER.info("Result {} reuses the result stored with fingerprint {}", resultUuid, fingerprint);
+                notificationService.sendResultMessage(resultUuid, loadFlowRunContext.getReceiver(), loadFlowRunContext.getUserId(),
+                    Map.of(LoadFlowWorkerService.HEADER_WITH_RATIO_TAP_CHANGERS, loadFlowRunContext.isWithRatioTapChangers()));
+                return resultUuid;
+            }
+            loadFlowRunContext.setFingerprint(fingerprint);
+        }
+
+        int messagePriority = getRunMessagePriority(loadFlowRunContext.getUserId());
         // update status to running status
-        setStatus(List.of(resultUuid), LoadFlowStatus.RUNNING);
-        notificationService.sendRunMessage(new LoadFlowResultContext(resultUuid, loadFlowRunContext).toMessage(objectMapper));
+        resultService.insertRunningStatus(resultUuid, loadFlowRunContext.getUserId());
+        Message<String> runMessage = MessageBuilder.fromMessage(new LoadFlowResultContext(resultUuid, loadFlowRunContext).toMessage(objectMapper))
+            .setHeader(MESSAGE_PRIORITY_HEADER, messagePriority)
+            .build();
+        if (loadFlowRunContext.getPriority() == RunPriority.BATCH) {
+            LOGGER.debug("Sending batch run message for result {}", resultUuid);
+            runPublisher.send(PUBLISH_RUN_BATCH_BINDING, runMessage);
+        } else {
+            notificationService.sendRunMessage(runMessage);
+        }
         return resultUuid;
     }
 
+    /**
+     * Once a user has too many runs waiting or in progress, the next runs of this user are sent with the normal priority,
+     * behind the runs of the other users: a user submitting many runs cannot take all the run consumers, and still gets
+     * all of them when nobody else is waiting. The runs of a user are then no longer consumed in submission order.
+     * The broker must honor the message priority: quorum queues do from RabbitMQ 4.0, older brokers consume in submission order.
+     */
+    private int getRunMessagePriority(String userId) {
+        int maxRuns = runProperties.getMaxConcurrentRunsPerUser();
+        if (maxRuns <= 0 || resultService.countRunningRuns(userId, runProperties.getUserRunsWindow()) < maxRuns) {
+            return HIGH_MESSAGE_PRIORITY;
+        }
+        LOGGER.debug("User {} has too many runs waiting or in progress, run queued behind the runs of the other users", userId);
+        deprioritizedRunsCounter.increment();
+        return NORMAL_MESSAGE_PRIORITY;
+    }
+
+    /**
+     * Identifies the inputs of a run: same network variant in the same version, same parameters and same options.
+     */
+    private String computeFingerprint(LoadFlowRunContext loadFlowRunContext) {
+        try {
+            StringJoiner key = new StringJoiner("|")
+                .add(loadFlowRunContext.getNetworkUuid().toString())
+                .add(Objects.toString(loadFlowRunContext.getVariantId()))
+                .add(loadFlowRunContext.getNetworkVersion())
+                .add(Objects.toString(loadFlowRunContext.getParametersUuid()))
+                .add(loadFlowRunContext.getProvider())
+                .add(Boolean.toString(loadFlowRunContext.isApplySolvedValues()))
+                .add(Boolean.toString(loadFlowRunContext.isDryRun()))
+                .add(objectMapper.writeValueAsString(loadFlowRunContext.getPerimeter()))
+                .add(DigestUtils.md5DigestAsHex(objectMapper.writeValueAsBytes(loadFlowRunContext.getParameters())));
+            return DigestUtils.md5DigestAsHex(key.toString().getBytes(StandardCharsets.UTF_8));
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
     public static LoadFlowStatus computeLoadFlowStatus(com.powsybl.loadflow.LoadFlowResult result) {
         return result.getComponentResults().stream()
                 .filter(cr -> cr.getConnectedComponentNum() == 0 && cr.getSynchronousComponentNum() == 0
@@ -7,6 +7,10 @@
 package org.gridsuite.loadflow.server.service;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.powsybl.computation.ComputationManager;
+import com.powsybl.computation.local.LocalComputationManager;
 import com.powsybl.contingency.violations.LimitViolation;
 import com.powsybl.contingency.violations.LimitViolationType;
 import com.powsybl.iidm.criteria.AtLeastOneNominalVoltageCriterion;
@@ -27,6 +31,11 @@ import com.powsybl.networkarea.CountryAreaFactory;
 import com.powsybl.security.Security;
 import com.powsybl.security.limitreduction.DefaultLimitReductionsApplier;
 import com.powsybl.security.limitreduction.LimitReduction;
+import io.micrometer.context.ContextExecutorService;
+import io.micrometer.context.ContextSnapshotFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PreDestroy;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.Setter;
@@ -36,15 +45,19 @@ import org.gridsuite.loadflow.server.PropertyServerNameProvider;
 import org.gridsuite.loadflow.server.dto.CountryAdequacy;
 import org.gridsuite.loadflow.server.dto.Exchange;
 import org.gridsuite.loadflow.server.dto.LimitViolationInfos;
-import org.gridsuite.loadflow.server.dto.modifications.LoadFlowModificationInfos;
+import org.gridsuite.loadflow.server.dto.RunPriority;
 import org.gridsuite.loadflow.server.dto.modifications.TapPositionType;
 import org.gridsuite.loadflow.server.dto.parameters.LimitReductionsByVoltageLevel;
 import org.gridsuite.loadflow.server.dto.parameters.LoadFlowParametersValues;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.messaging.Message;
 import org.springframework.stereotype.Service;
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
@@ -58,6 +71,19 @@ import static org.gridsuite.loadflow.server.service.LoadFlowService.COMPUTATION_
 @Service
 public class LoadFlowWorkerService extends AbstractWorkerService<LoadFlowResult, LoadFlowRunContext, LoadFlowParametersValues, LoadFlowResultService> {
     private final LimitReductionService limitReductionService;
+    private final FilterService filterService;
+    private final LoadFlowResultProperties resultProperties;
+    // the result insertion and the network flush of a concurrent save run on virtual threads, within the observation of the run
+    private final ExecutorService ioExecutor = ContextExecutorService.wrap(Executors.newVirtualThreadPerTaskExecutor(),
+        ContextSnapshotFactory.builder().build()::captureAll);
+    // null when the number of runs solved at the same time is not limited
+    private final BoundedSolverExecutor boundedSolverExecutor;
+    private final LocalComputationManager boundedSolverComputationManager;
+    /**
+     * The reduction sets almost never change: their immutable limit reductions are built once per distinct set,
+     * each run wraps them in its own applier
+     */
+    private final Cache<List<LimitReductionsByVoltageLevel>, List<LimitReduction>> limitReductions;
     public static final String HEADER_WITH_RATIO_TAP_CHANGERS = "withRatioTapChangers";
 
     @Setter
@@ -74,13 +100,33 @@ public class LoadFlowWorkerService extends AbstractWorkerService<LoadFlowResult,
 
     public record BranchInfos(Country country1, double p1, Country country2, double p2) { }
 
+    /**
+     * The limit violations to save, and the total number of violations of each type when only the most severe ones are saved
+     */
+    private record CheckedLimitViolations(List<LimitViolationInfos> limitViolations, Map<LimitViolationType, Long> counts) { }
+
     public LoadFlowWorkerService(NetworkStoreService networkStoreService, NotificationService notificationService,
                                  ReportService reportService, LoadFlowResultService resultService,
                                  ExecutionService executionService, LoadFlowObserver observer,
                                  ObjectMapper objectMapper, LimitReductionService limitReductionService,
-                                 PropertyServerNameProvider propertyServerNameProvider) {
+                                 PropertyServerNameProvider propertyServerNameProvider, LoadFlowResultProperties resultProperties,
+                                 LoadFlowRunProperties runProperties, FilterService filterService, MeterRegistry meterRegistry,
+                                 @Value("${loadflow.limit-reductions-cache.maximum-size:64}") long limitReductionsCacheMaximumSize) {
         super(networkStoreService, notificationService, reportService, resultService, executionService, observer, objectMapper, propertyServerNameProvider);
         this.limitReductionService = limitReductionService;
+        this.filterService = filterService;
+        this.resultProperties = resultProperties;
+        this.limitReductions = Caffeine.newBuilder()
+            .maximumSize(limitReductionsCacheMaximumSize)
+            .recordStats()
+            .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, limitReductions, "loadflow.limit-reductions");
+        int maxConcurrentSolverRuns = runProperties.getMaxConcurrentSolverRuns();
+        // the consumers outnumber the solver slots: the runs of the other consumers load networks or save results meanwhile
+        this.boundedSolverExecutor = maxConcurrentSolverRuns > 0
+            ? new BoundedSolverExecutor(executionService.getComputationManager().getExecutor(), maxConcurrentSolverRuns, runProperties.getReservedInteractiveSolverRuns())
+            : null;
+        this.boundedSolverComputationManager = boundedSolverExecutor != null ? new LocalComputationManager(boundedSolverExecutor) : null;
     }
 
     @Override
@@ -97,10 +143,19 @@ public class LoadFlowWorkerService extends AbstractWorkerService<LoadFlowResult,
     protected CompletableFuture<LoadFlowResult> getCompletableFuture(LoadFlowRunContext runContext, String provider, UUID resultUuid) {
         LoadFlowParameters params = runContext.buildParameters();
         LoadFlow.Runner runner = LoadFlow.find(provider);
+        if (boundedSolverExecutor == null) {
+            return runAsync(runner, runContext, params, executionService.getComputationManager());
+        }
+        return boundedSolverExecutor.submit(runContext.getPriority() == RunPriority.BATCH,
+            () -> runAsync(runner, runContext, params, boundedSolverComputationManager));
+    }
+
+    private static CompletableFuture<LoadFlowResult> runAsync(LoadFlow.Runner runner, LoadFlowRunContext runContext, LoadFlowParameters params,
+                                                              ComputationManager computationManager) {
         return runner.runAsync(
                 runContext.getNetwork(),
                 runContext.getVariantId() != null ? runContext.getVariantId() : VariantManagerConstants.INITIAL_VARIANT_ID,
-                new LoadFlowRunParameters().setComputationManager(executionService.getComputationManager()).setParameters(params).setReportNode(runContext.getReportNode())
+                new LoadFlowRunParameters().setComputationManager(computationManager).setParameters(params).setReportNode(runContext.getReportNode())
         );
     }
 
@@ -111,10 +166,15 @@ public class LoadFlowWorkerService extends AbstractWorkerService<LoadFlowResult,
                 .build();
     }
 
-    private List<LimitReduction> createLimitReductions(LoadFlowRunContext runContext) {
+    private DefaultLimitReductionsApplier getLimitReductionsApplier(LoadFlowRunContext runContext) {
+        List<LimitReductionsByVoltageLevel> limitReductionsByVoltageLevel = List.copyOf(runContext.getParameters().getLimitReductions());
+        return new DefaultLimitReductionsApplier(limitReductions.get(limitReductionsByVoltageLevel, key -> List.copyOf(createLimitReductions(key))));
+    }
+
+    private List<LimitReduction> createLimitReductions(List<LimitReductionsByVoltageLevel> limitReductionsByVoltageLevel) {
         List<LimitReduction> limitReductions = new ArrayList<>(limitReductionService.getVoltageLevels().size() * limitReductionService.getLimitDurations().size());
 
-        runContext.getParameters().getLimitReductions().forEach(limitReduction -> {
+        limitReductionsByVoltageLevel.forEach(limitReduction -> {
             LimitReductionsByVoltageLevel.VoltageLevel voltageLevel = limitReduction.getVoltageLevel();
             IdentifiableCriterion voltageLevelCriterion = new IdentifiableCriterion(new AtLeastOneNominalVoltageCriterion(VoltageInterval.between(voltageLevel.getLowBound(),
                     voltageLevel.getHighBound(), false, true)));
@@ -142,43 +202,158 @@ public class LoadFlowWorkerService extends AbstractWorkerService<LoadFlowResult,
 
     @Override
     public void saveResult(Network network, AbstractResultContext<LoadFlowRunContext> resultContext, LoadFlowResult result) {
-        LoadFlowModificationInfos loadFlowModificationInfos = handleSolvedValues(network, resultContext.getRunContext().isApplySolvedValues());
-        List<LimitViolationInfos> limitViolationInfos = getLimitViolations(network, resultContext.getRunContext());
-        List<LimitViolationInfos> limitViolationsWithCalculatedOverload = calculateOverloadLimitViolations(limitViolationInfos, network);
+        // observed apart from the flush, so that the cost of writing the applied values back to the store can be measured on its own
+        try (LoadFlowModificationsRecorder loadFlowModifications = observer.observe("solved.values.apply", resultContext.getRunContext(),
+            () -> handleSolvedValues(network, resultContext.getRunContext().isApplySolvedValues() && !resultContext.getRunContext().isDryRun()))) {
+            saveResult(network, resultContext, result, loadFlowModifications);
+        }
+    }
+
+    private void saveResult(Network network, AbstractResultContext<LoadFlowRunContext> resultContext, LoadFlowResult result,
+                            LoadFlowModificationsRecorder loadFlowModifications) {
+        CheckedLimitViolations checkedLimitViolations = checkLimitViolations(network, resultContext.getRunContext());
 
         Map<Country, BorderBasedCountryArea> borderBasedCountryAreas = createBorderBasedCountryAreas(network);
         Map<Pair<Integer, Integer>, ComponentCalculatedInfos> componentInfos = calculateComponentInfos(network);
         List<CountryAdequacy> countryAdequacies = calculateCountryAdequacies(network, borderBasedCountryAreas);
         Map<String, List<Exchange>> exchanges = calculateExchanges(network, borderBasedCountryAreas);
 
-        resultService.insert(resultContext.getResultUuid(), result, LoadFlowService.computeLoadFlowStatus(result),
-            loadFlowModificationInfos, limitViolationsWithCalculatedOverload, componentInfos, countryAdequacies, exchanges);
-        if (result != null && !result.isFailed()) {
-            // flush network in the network store
-            observer.observe("network.save", resultContext.getRunContext(), () -> networkStoreService.flush(resultContext.getRunContext().getNetwork()));
+        Runnable insertResult = () -> resultService.insert(resultContext.getResultUuid(), result, LoadFlowService.computeLoadFlowStatus(result),
+            loadFlowModifications, checkedLimitViolations.limitViolations(), checkedLimitViolations.counts(), componentInfos, countryAdequacies, exchanges);
+        // flush network in the network store, a dry run leaves the network store untouched
+        boolean flushNetwork = result != null && !result.isFailed() && !resultContext.getRunContext().isDryRun();
+        if (flushNetwork && resultProperties.isConcurrentSave()) {
+            insertResultWhileSavingNetwork(insertResult, resultContext.getRunContext());
+        } else {
+            insertResult.run();
+            if (flushNetwork) {
+                saveNetwork(resultContext.getRunContext());
+            }
+        }
+        if (result != null && !result.isFailed() && resultContext.getRunContext().getFingerprint() != null) {
+            // only once the network is saved, the result can be reused by the next runs on the same network version
+            resultService.saveFingerprint(resultContext.getResultUuid(), resultContext.getRunContext().getFingerprint());
         }
     }
 
-    private LoadFlowModificationInfos handleSolvedValues(Network network, boolean applySolvedValues) {
+    private CheckedLimitViolations checkLimitViolations(Network network, LoadFlowRunContext runContext) {
+        List<LimitViolationInfos> limitViolationInfos = getLimitViolations(network, runContext);
+        int maxLimitViolationsPerType = resultProperties.getMaxLimitViolationsPerType();
+        if (maxLimitViolationsPerType <= 0) {
+            return new CheckedLimitViolations(calculateOverloadLimitViolations(limitViolationInfos, network), null);
+        }
+        Map<LimitViolationType, Long> counts = limitViolationInfos.stream()
+            .collect(Collectors.groupingBy(LimitViolationInfos::getLimitType, () -> new EnumMap<>(LimitViolationType.class), Collectors.counting()));
+        // only the kept violations are enriched
+        List<LimitViolationInfos> mostSevereLimitViolations = keepMostSevereLimitViolations(limitViolationInfos, maxLimitViolationsPerType);
+        return new CheckedLimitViolations(calculateOverloadLimitViolations(mostSevereLimitViolations, network), counts);
+    }
+
+    /**
+     * Keeps the given number of most severe limit violations of each type, in their original order
+     */
+    public static List<LimitViolationInfos> keepMostSevereLimitViolations(List<LimitViolationInfos> limitViolationInfos, int maxPerType) {
+        Map<LimitViolationType, PriorityQueue<LimitViolationInfos>> mostSevereByType = new EnumMap<>(LimitViolationType.class);
+        for (LimitViolationInfos limitViolation : limitViolationInfos) {
+            // the least severe of the kept violations is at the head of the heap
+            PriorityQueue<LimitViolationInfos> mostSevere = mostSevereByType.computeIfAbsent(limitViolation.getLimitType(),
+                limitType -> new PriorityQueue<>(Comparator.comparingDouble(LoadFlowWorkerService::getSeverity)));
+            mostSevere.add(limitViolation);
+            if (mostSevere.size() > maxPerType) {
+                mostSevere.poll();
+            }
+        }
+        Set<LimitViolationInfos> kept = Collections.newSetFromMap(new IdentityHashMap<>());
+        mostSevereByType.values().forEach(kept::addAll);
+        return limitViolationInfos.stream().filter(kept::contains).toList();
+    }
+
+    /**
+     * Overload for current and power violations, deviation from the limit for voltage violations
+     */
+    private static double getSeverity(LimitViolationInfos limitViolationInfos) {
+        Double value = limitViolationInfos.getValue();
+        Double limit = limitViolationInfos.getLimit();
+        if (value == null || limit == null || limit == 0) {
+            return 0;
+        }
+        return switch (limitViolationInfos.getLimitType()) {
+            case LOW_VOLTAGE -> (limit - value) / limit;
+            case HIGH_VOLTAGE -> (value - limit) / limit;
+            default -> Math.abs(value) / Math.abs(limit);
+        };
+    }
+
+    private void saveNetwork(LoadFlowRunContext runContext) {
+        observer.observe("network.save", runContext, () -> networkStoreService.flush(runContext.getNetwork()));
+    }
+
+    /**
+     * Inserts the result in the database while the network is flushed in the network store, and returns once both are done,
+     * so that the result message is not sent before. If one of them fails, the run fails: its result is deleted and the failure
+     * is notified by the caller, even if the network has already been saved.
+     */
+    private void insertResultWhileSavingNetwork(Runnable insertResult, LoadFlowRunContext runContext) {
+        CompletableFuture<Void> networkSaving = CompletableFuture.runAsync(() -> saveNetwork(runContext), ioExecutor);
+        CompletableFuture<Void> insertion = CompletableFuture.runAsync(insertResult, ioExecutor);
+        RuntimeException failure = null;
+        for (CompletableFuture<Void> stage : List.of(networkSaving, insertion)) {
+            try {
+                stage.join();
+            } catch (CompletionException e) {
+                RuntimeException stageFailure = getCause(e);
+                if (failure == null) {
+                    failure = stageFailure;
+                } else {
+                    failure.addSuppressed(stageFailure);
+                }
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    private static RuntimeException getCause(CompletionException e) {
+        return e.getCause() instanceof RuntimeException cause ? cause : e;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        ioExecutor.shutdown();
+        if (boundedSolverComputationManager != null) {
+            boundedSolverComputationManager.close();
+        }
+    }
+
+    private LoadFlowModificationsRecorder handleSolvedValues(Network network, boolean applySolvedValues) {
         if (!applySolvedValues) {
             return null;
         }
-        LoadFlowModificationInfos loadFlowModificationInfos = new LoadFlowModificationInfos();
-        handle2WTSolvedValues(network, loadFlowModificationInfos);
-        handleSCSolvedValues(network, loadFlowModificationInfos);
-        return loadFlowModificationInfos;
+        // transformers must be handled before shunt compensators when the modifications are streamed
+        LoadFlowModificationsRecorder loadFlowModifications = resultProperties.isStreamModifications()
+            ? new StreamedLoadFlowModifications(objectMapper)
+            : new BufferedLoadFlowModifications(objectMapper);
+        try {
+            handle2WTSolvedValues(network, loadFlowModifications);
+            handleSCSolvedValues(network, loadFlowModifications);
+        } catch (RuntimeException e) {
+            loadFlowModifications.close();
+            throw e;
+        }
+        return loadFlowModifications;
     }
 
-    private void handle2WTSolvedValues(Network network, LoadFlowModificationInfos loadFlowModificationInfos) {
+    private void handle2WTSolvedValues(Network network, LoadFlowModificationsRecorder loadFlowModifications) {
         network.getTwoWindingsTransformerStream()
             .forEach(t -> {
                 Integer initialRatioTapPosition = handleSolvedTapPosition(t.getOptionalRatioTapChanger());
                 if (initialRatioTapPosition != null) {
-                    loadFlowModificationInfos.add2WTTapPositionValues(t.getId(), initialRatioTapPosition, t.getRatioTapChanger().getSolvedTapPosition(), TapPositionType.RATIO_TAP);
+                    loadFlowModifications.add2WTTapPositionValues(t.getId(), initialRatioTapPosition, t.getRatioTapChanger().getSolvedTapPosition(), TapPositionType.RATIO_TAP);
                 }
                 Integer initialPhaseTapPosition = handleSolvedTapPosition(t.getOptionalPhaseTapChanger());
                 if (initialPhaseTapPosition != null) {
-                    loadFlowModificationInfos.add2WTTapPositionValues(t.getId(), initialPhaseTapPosition, t.getPhaseTapChanger().getSolvedTapPosition(), TapPositionType.PHASE_TAP);
+                    loadFlowModifications.add2WTTapPositionValues(t.getId(), initialPhaseTapPosition, t.getPhaseTapChanger().getSolvedTapPosition(), TapPositionType.PHASE_TAP);
                 }
             });
     }
@@ -193,10 +368,10 @@ public class LoadFlowWorkerService extends AbstractWorkerService<LoadFlowResult,
         return initialTapPosition;
     }
 
-    private void handleSCSolvedValues(Network network, LoadFlowModificationInfos loadFlowModificationInfos) {
+    private void handleSCSolvedValues(Network network, LoadFlowModificationsRecorder loadFlowModifications) {
         network.getShuntCompensatorStream().forEach(shuntCompensator -> {
             if (shuntCompensator.findSolvedSectionCount().isPresent() && shuntCompensator.getSolvedSectionCount() != shuntCompensator.getSectionCount()) {
-                loadFlowModificationInfos.addSCSectionCountValue(shuntCompensator.getId(), shuntCompensator.getSectionCount(), shuntCompensator.getSolvedSectionCount());
+                loadFlowModifications.addSCSectionCountValue(shuntCompensator.getId(), shuntCompensator.getSectionCount(), shuntCompensator.getSolvedSectionCount());
                 shuntCompensator.applySolvedValues();
             }
         });
@@ -505,21 +680,27 @@ public class LoadFlowWorkerService extends AbstractWorkerService<LoadFlowResult,
         List<LimitViolation> violations;
         LoadFlowParameters lfCommonParams = loadFlowRunContext.buildParameters();
 
+        // the limits are checked in a single pass on the consumer thread: the network store network is not thread safe,
+        // and a partitioned check on copied values would have to re-implement the limit detection of powsybl-security
         if (lfCommonParams.isDc()) {
             if (limitReductionService.getProviders().contains(loadFlowRunContext.getProvider())) {
-                violations = Security.checkLimitsDc(network, new DefaultLimitReductionsApplier(createLimitReductions(loadFlowRunContext)), lfCommonParams.getDcPowerFactor());
+                violations = Security.checkLimitsDc(network, getLimitReductionsApplier(loadFlowRunContext), lfCommonParams.getDcPowerFactor());
 
             } else {
                 violations = Security.checkLimitsDc(network, loadFlowRunContext.getParameters().getLimitReduction(), lfCommonParams.getDcPowerFactor());
             }
         } else {
             if (limitReductionService.getProviders().contains(loadFlowRunContext.getProvider())) {
-                violations = Security.checkLimits(network, new DefaultLimitReductionsApplier(createLimitReductions(loadFlowRunContext)));
+                violations = Security.checkLimits(network, getLimitReductionsApplier(loadFlowRunContext));
             } else {
                 violations = Security.checkLimits(network, loadFlowRunContext.getParameters().getLimitReduction());
             }
 
         }
+        if (loadFlowRunContext.getPerimeter() != null) {
+            // only the violations inside of the study perimeter are enriched and saved
+            violations = filterService.filterPerimeterViolations(network, loadFlowRunContext.getPerimeter(), violations);
+        }
         return violations.stream()
                 .map(limitViolation -> toLimitViolationInfos(limitViolation, network)).toList();
     }
@@ -578,6 +759,19 @@ public class LoadFlowWorkerService extends AbstractWorkerService<LoadFlowResult,
         return super.consumeRun();
     }
 
+    /*
+     * Batch runs have their own destination and consumers: consumeRun1..4 stay available for interactive runs
+     */
+    @Bean
+    public Consumer<Message<String>> consumeRunBatch1() {
+        return super.consumeRun();
+    }
+
+    @Bean
+    public Consumer<Message<String>> consumeRunBatch2() {
+        return super.consumeRun();
+    }
+
     @Bean
     @Override
     public Consumer<Message<String>> consumeCancel() {
@@ -0,0 +1,147 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.loadflow.server.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.gridsuite.loadflow.server.dto.modifications.LoadFlowModificationInfos.ShuntCompensatorModification;
+import org.gridsuite.loadflow.server.dto.modifications.LoadFlowModificationInfos.TwoWindingsTransformerModification;
+import org.gridsuite.loadflow.server.dto.modifications.TapPositionType;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Solved values modifications serialized as gzip compressed JSON while they are added, instead of being kept as objects
+ * until the result is saved: memory grows with the compressed size only.
+ * <p>
+ * All the two windings transformer modifications must be added before the shunt compensator ones.
+ *
+ * @author Anis Touri <anis.touri at rte-france.com>
+ */
+public class StreamedLoadFlowModifications implements LoadFlowModificationsRecorder {
+
+    private enum Section {
+        START,
+        TWO_WINDINGS_TRANSFORMERS,
+        SHUNT_COMPENSATORS,
+        END
+    }
+
+    private final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+    private final GZIPOutputStream gzipOutputStream;
+    private final JsonGenerator generator;
+    private Section section = Section.START;
+    private boolean closed;
+
+    public StreamedLoadFlowModifications(ObjectMapper objectMapper) {
+        JsonGenerator jsonGenerator = null;
+        try {
+            gzipOutputStream = new GZIPOutputStream(outputStream);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        try {
+            jsonGenerator = objectMapper.createGenerator(gzipOutputStream);
+            jsonGenerator.writeStartObject();
+        } catch (IOException e) {
+            closeAfterFailure(jsonGenerator, e);
+            throw new UncheckedIOException(e);
+        } catch (RuntimeException e) {
+            closeAfterFailure(jsonGenerator, e);
+            throw e;
+        }
+        generator = jsonGenerator;
+    }
+
+    private void closeAfterFailure(JsonGenerator jsonGenerator, Exception failure) {
+        // the deflater is only released when its stream is closed
+        try (OutputStream compressedStream = gzipOutputStream) {
+            if (jsonGenerator != null) {
+                jsonGenerator.close();
+            }
+        } catch (IOException e) {
+            failure.addSuppressed(e);
+        }
+    }
+
+    @Override
+    public void add2WTTapPositionValues(String twoWindingsTransformerId, Integer initialTapPosition, Integer solvedTapPosition, TapPositionType type) {
+        write(Section.TWO_WINDINGS_TRANSFORMERS, new TwoWindingsTransformerModification(twoWindingsTransformerId, initialTapPosition, solvedTapPosition, type));
+    }
+
+    @Override
+    public void addSCSectionCountValue(String shuntCompensatorId, Integer initialSectionCount, Integer solvedSectionCount) {
+        write(Section.SHUNT_COMPENSATORS, new ShuntCompensatorModification(shuntCompensatorId, initialSectionCount, solvedSectionCount));
+    }
+
+    private void write(Section target, Object modification) {
+        moveTo(target);
+        try {
+            generator.writeObject(modification);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void moveTo(Section target) {
+        if (target.compareTo(section) < 0) {
+            throw new IllegalStateException("Cannot add " + target + " modifications after " + section + " ones");
+        }
+        try {
+            while (section != target) {
+                if (section == Section.TWO_WINDINGS_TRANSFORMERS || section == Section.SHUNT_COMPENSATORS) {
+                    generator.writeEndArray();
+                }
+                section = Section.values()[section.ordinal() + 1];
+                if (section == Section.TWO_WINDINGS_TRANSFORMERS) {
+                    generator.writeArrayFieldStart("twoWindingsTransformerModifications");
+                } else if (section == Section.SHUNT_COMPENSATORS) {
+                    generator.writeArrayFieldStart("shuntCompensatorModifications");
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Ends the JSON document. The generator and the deflater are released on every path, a recorder given up after a failure
+     * must be closed as well.
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        // the generator is closed first, then the gzip stream is finished
+        try (OutputStream compressedStream = gzipOutputStream; JsonGenerator jsonGenerator = generator) {
+            moveTo(Section.END);
+            jsonGenerator.writeEndObject();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public byte[] toCompressedJson() {
+        close();
+        return outputStream.toByteArray();
+    }
+
+    @Override
+    public String toJsonString() {
+        try (InputStream inputStream = new GZIPInputStream(new ByteArrayInputStream(toCompressedJson()))) {
+            return new String(inputStream.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
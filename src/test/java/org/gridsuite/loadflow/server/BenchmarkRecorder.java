@@ -0,0 +1,131 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.loadflow.server;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Supplier;
+
+/**
+ * Collects latency samples by measurement name and writes them as a JSON report
+ * (min, mean, percentiles, max in milliseconds) so that runs can be compared over time.
+ *
+ * @author Anis Touri <anis.touri at rte-france.com>
+ */
+final class BenchmarkRecorder {
+
+    static final String BENCHMARK_PROPERTY = "loadflow.benchmark";
+
+    private static final Path REPORT_DIRECTORY = Path.of("target", "benchmarks");
+
+    private final String name;
+    private final Map<String, Object> configuration = new LinkedHashMap<>();
+    private final Map<String, Object> metrics = new LinkedHashMap<>();
+    private final Map<String, Queue<Long>> samples = new ConcurrentHashMap<>();
+    private final Map<String, Integer> order = new ConcurrentHashMap<>();
+
+    BenchmarkRecorder(String name) {
+        this.name = name;
+    }
+
+    static int intProperty(String key, int defaultValue) {
+        return Integer.parseInt(System.getProperty(BENCHMARK_PROPERTY + "." + key, String.valueOf(defaultValue)));
+    }
+
+    static String stringProperty(String key) {
+        return System.getProperty(BENCHMARK_PROPERTY + "." + key);
+    }
+
+    BenchmarkRecorder configuration(String key, Object value) {
+        configuration.put(key, value);
+        return this;
+    }
+
+    BenchmarkRecorder metric(String key, Object value) {
+        metrics.put(key, value);
+        return this;
+    }
+
+    void record(String measurement, long nanos) {
+        order.putIfAbsent(measurement, order.size());
+        samples.computeIfAbsent(measurement, k -> new ConcurrentLinkedQueue<>()).add(nanos);
+    }
+
+    void time(String measurement, Runnable runnable) {
+        time(measurement, () -> {
+            runnable.run();
+            return null;
+        });
+    }
+
+    <T> T time(String measurement, Supplier<T> supplier) {
+        long start = System.nanoTime();
+        T result = supplier.get();
+        record(measurement, System.nanoTime() - start);
+        return result;
+    }
+
+    Map<String, Object> summary() {
+        Map<String, Object> measurements = new LinkedHashMap<>();
+        samples.keySet().stream()
+            .sorted(Comparator.comparing(order::get))
+            .forEach(measurement -> measurements.put(measurement, summarize(samples.get(measurement))));
+        return measurements;
+    }
+
+    Path writeReport() {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("benchmark", name);
+        report.put("timestamp", Instant.now().toString());
+        report.put("configuration", configuration);
+        report.put("metrics", metrics);
+        report.put("measurements", summary());
+
+        Path reportFile = REPORT_DIRECTORY.resolve(name + "-" + System.currentTimeMillis() + ".json");
+        try {
+            Files.createDirectories(REPORT_DIRECTORY);
+            new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(reportFile.toFile(), report);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return reportFile;
+    }
+
+    private static Map<String, Object> summarize(Collection<Long> values) {
+        long[] sorted = values.stream().mapToLong(Long::longValue).sorted().toArray();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("samples", sorted.length);
+        if (sorted.length == 0) {
+            return stats;
+        }
+        stats.put("minMs", toMillis(sorted[0]));
+        stats.put("meanMs", toMillis((long) Arrays.stream(sorted).average().orElse(0)));
+        stats.put("p50Ms", toMillis(percentile(sorted, 50)));
+        stats.put("p90Ms", toMillis(percentile(sorted, 90)));
+        stats.put("p99Ms", toMillis(percentile(sorted, 99)));
+        stats.put("maxMs", toMillis(sorted[sorted.length - 1]));
+        return stats;
+    }
+
+    private static long percentile(long[] sorted, int percentile) {
+        int index = (int) Math.ceil(percentile / 100.0 * sorted.length) - 1;
+        return sorted[Math.clamp(index, 0, sorted.length - 1)];
+    }
+
+    private static double toMillis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+}
@@ -0,0 +1,197 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.loadflow.server;
+
+import org.gridsuite.loadflow.server.service.BoundedSolverExecutor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author Anis Touri <anis.touri at rte-france.com>
+ */
+class BoundedSolverExecutorTest {
+
+    private ExecutorService executorService;
+
+    @BeforeEach
+    void setUp() {
+        executorService = Executors.newCachedThreadPool();
+    }
+
+    @AfterEach
+    void tearDown() {
+        executorService.shutdownNow();
+    }
+
+    @Test
+    void atMostTheMaximumNumberOfTasksRunAtTheSameTime() throws Exception {
+        BoundedSolverExecutor executor = new BoundedSolverExecutor(executorService, 2);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        List<FutureTask<Void>> tasks = IntStream.range(0, 6).mapToObj(i -> new FutureTask<Void>(() -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            Thread.sleep(50);
+            running.decrementAndGet();
+            return null;
+        })).toList();
+
+        tasks.forEach(executor::execute);
+        for (FutureTask<Void> task : tasks) {
+            task.get(10, TimeUnit.SECONDS);
+        }
+
+        assertThat(maxRunning.get()).isEqualTo(2);
+    }
+
+    @Test
+    void taskCancelledWhileWaitingNeverRunsNorTakesAPermit() throws Exception {
+        BoundedSolverExecutor executor = new BoundedSolverExecutor(executorService, 1);
+        CountDownLatch firstTaskStarted = new CountDownLatch(1);
+        CountDownLatch firstTaskRelease = new CountDownLatch(1);
+        FutureTask<Void> firstTask = new FutureTask<>(() -> {
+            firstTaskStarted.countDown();
+            firstTaskRelease.await();
+            return null;
+        });
+        AtomicBoolean cancelledTaskRan = new AtomicBoolean();
+        FutureTask<Void> cancelledTask = new FutureTask<>(() -> {
+            cancelledTaskRan.set(true);
+            return null;
+        });
+        FutureTask<Void> lastTask = new FutureTask<>(() -> null);
+
+        executor.execute(firstTask);
+        assertThat(firstTaskStarted.await(10, TimeUnit.SECONDS)).isTrue();
+        executor.execute(cancelledTask);
+        cancelledTask.cancel(true);
+        firstTaskRelease.countDown();
+        firstTask.get(10, TimeUnit.SECONDS);
+        executor.execute(lastTask);
+        lastTask.get(10, TimeUnit.SECONDS);
+
+        assertThat(cancelledTaskRan).isFalse();
+    }
+
+    @Test
+    void cancelledTaskKeepsItsPermitUntilItEnds() throws Exception {
+        BoundedSolverExecutor executor = new BoundedSolverExecutor(executorService, 1);
+        CountDownLatch solverStarted = new CountDownLatch(1);
+        CountDownLatch solverRelease = new CountDownLatch(1);
+        // a solver noticing the cancellation only after some more work
+        FutureTask<Void> cancelledTask = new FutureTask<>(() -> {
+            solverStarted.countDown();
+            boolean released = false;
+            while (!released) {
+                try {
+                    released = solverRelease.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    // the cancellation interrupts the solver, which still finishes its work
+                }
+            }
+            return null;
+        });
+        CountDownLatch nextTaskStarted = new CountDownLatch(1);
+        FutureTask<Void> nextTask = new FutureTask<>(() -> {
+            nextTaskStarted.countDown();
+            return null;
+        });
+
+        executor.execute(cancelledTask);
+        assertThat(solverStarted.await(10, TimeUnit.SECONDS)).isTrue();
+        cancelledTask.cancel(true);
+        executor.execute(nextTask);
+
+        // the cancelled solver still runs: the next one waits
+        assertThat(nextTaskStarted.await(300, TimeUnit.MILLISECONDS)).isFalse();
+        solverRelease.countDown();
+        assertThat(nextTaskStarted.await(10, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    void asyncSupplyOfARunCancelledWhileWaitingGivesBackItsThread() throws Exception {
+        ExecutorService twoThreads = Executors.newFixedThreadPool(2);
+        try {
+            BoundedSolverExecutor executor = new BoundedSolverExecutor(twoThreads, 1);
+            CountDownLatch firstRunStarted = new CountDownLatch(1);
+            CountDownLatch firstRunRelease = new CountDownLatch(1);
+            CompletableFuture<Void> firstRun = executor.submit(false, () -> CompletableFuture.supplyAsync(() -> {
+                firstRunStarted.countDown();
+                awaitUninterruptibly(firstRunRelease);
+                return null;
+            }, executor));
+            assertThat(firstRunStarted.await(10, TimeUnit.SECONDS)).isTrue();
+            AtomicBoolean cancelledRunSolved = new AtomicBoolean();
+            CompletableFuture<Void> cancelledRun = executor.submit(false, () -> CompletableFuture.supplyAsync(() -> {
+                cancelledRunSolved.set(true);
+                return null;
+            }, executor));
+
+            // the worker cancels the future returned by the run: the async supplier waiting on the second thread is never done itself
+            cancelledRun.cancel(true);
+            CountDownLatch secondThreadFreed = new CountDownLatch(1);
+            twoThreads.execute(secondThreadFreed::countDown);
+            assertThat(secondThreadFreed.await(10, TimeUnit.SECONDS)).isTrue();
+
+            firstRunRelease.countDown();
+            firstRun.get(10, TimeUnit.SECONDS);
+            CompletableFuture<String> lastRun = executor.submit(false, () -> CompletableFuture.supplyAsync(() -> "solved", executor));
+            assertThat(lastRun.get(10, TimeUnit.SECONDS)).isEqualTo("solved");
+            assertThat(cancelledRunSolved).isFalse();
+        } finally {
+            twoThreads.shutdownNow();
+        }
+    }
+
+    @Test
+    void batchRunsCannotTakeTheSlotsReservedToTheInteractiveRuns() throws Exception {
+        BoundedSolverExecutor executor = new BoundedSolverExecutor(executorService, 3, 1);
+        CountDownLatch batchRunsStarted = new CountDownLatch(2);
+        CountDownLatch batchRunsRelease = new CountDownLatch(1);
+        AtomicInteger runningBatchRuns = new AtomicInteger();
+        AtomicInteger maxRunningBatchRuns = new AtomicInteger();
+        List<CompletableFuture<Void>> batchRuns = IntStream.range(0, 4).mapToObj(i -> executor.submit(true, () -> CompletableFuture.supplyAsync(() -> {
+            maxRunningBatchRuns.accumulateAndGet(runningBatchRuns.incrementAndGet(), Math::max);
+            batchRunsStarted.countDown();
+            awaitUninterruptibly(batchRunsRelease);
+            runningBatchRuns.decrementAndGet();
+            return null;
+        }, executor))).toList();
+        assertThat(batchRunsStarted.await(10, TimeUnit.SECONDS)).isTrue();
+
+        // the other batch runs wait for a batch slot: an interactive run is still solved right away
+        CompletableFuture<String> interactiveRun = executor.submit(false, () -> CompletableFuture.supplyAsync(() -> "solved", executor));
+        assertThat(interactiveRun.get(10, TimeUnit.SECONDS)).isEqualTo("solved");
+        assertThat(runningBatchRuns.get()).isEqualTo(2);
+
+        batchRunsRelease.countDown();
+        for (CompletableFuture<Void> batchRun : batchRuns) {
+            batchRun.get(10, TimeUnit.SECONDS);
+        }
+        assertThat(maxRunningBatchRuns.get()).isEqualTo(2);
+    }
+
+    private static void awaitUninterruptibly(CountDownLatch latch) {
+        boolean released = false;
+        while (!released) {
+            try {
+                released = latch.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+}
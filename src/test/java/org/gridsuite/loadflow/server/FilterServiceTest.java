@@ -0,0 +1,97 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.loadflow.server;
+
+import com.powsybl.contingency.violations.BusBreakerViolationLocation;
+import com.powsybl.contingency.violations.LimitViolation;
+import com.powsybl.contingency.violations.LimitViolationType;
+import com.powsybl.iidm.network.*;
+import com.powsybl.iidm.network.test.ThreeWindingsTransformerNetworkFactory;
+import com.powsybl.network.store.client.NetworkStoreService;
+import com.powsybl.network.store.iidm.impl.NetworkFactoryImpl;
+import org.gridsuite.computation.dto.GlobalFilter;
+import org.gridsuite.loadflow.server.service.FilterService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+/**
+ * @author Anis Touri <anis.touri at rte-france.com>
+ */
+@SpringBootTest
+class FilterServiceTest {
+
+    @MockitoBean
+    private NetworkStoreService networkStoreService;
+
+    @Autowired
+    private FilterService filterService;
+
+    private Network network;
+    private ThreeWindingsTransformer transformer;
+    private LimitViolation transformerViolation;
+    private LimitViolation voltageLevelViolation;
+    private List<LimitViolation> violations;
+
+    @BeforeEach
+    void setUp() {
+        network = ThreeWindingsTransformerNetworkFactory.create(new NetworkFactoryImpl());
+        transformer = network.getThreeWindingsTransformers().iterator().next();
+        Substation substation = transformer.getSubstation().orElseThrow();
+        substation.setCountry(Country.FR);
+        substation.setProperty("region", "north");
+
+        String leg1VoltageLevelId = transformer.getLeg1().getTerminal().getVoltageLevel().getId();
+        transformerViolation = new LimitViolation(transformer.getId(), "", LimitViolationType.CURRENT, "limit1", 300, 900, 0.7F, 1000, ThreeSides.THREE);
+        voltageLevelViolation = new LimitViolation(leg1VoltageLevelId, "", LimitViolationType.HIGH_VOLTAGE, "limit2", 300, 900, 0.7F, 1000, ThreeSides.ONE,
+            new BusBreakerViolationLocation(List.of()));
+        LimitViolation unknownEquipmentViolation = new LimitViolation("UNKNOWN", "", LimitViolationType.CURRENT, "limit3", 300, 900, 0.7F, 1000, TwoSides.ONE);
+        violations = List.of(transformerViolation, voltageLevelViolation, unknownEquipmentViolation);
+    }
+
+    @Test
+    void perimeterWithoutCriteriaKeepsEveryViolation() {
+        assertThat(filterService.filterPerimeterViolations(network, GlobalFilter.builder().build(), violations)).isEqualTo(violations);
+        assertThat(filterService.filterPerimeterViolations(network, GlobalFilter.builder()
+            .voltageRanges(List.of())
+            .countryCode(List.of())
+            .substationProperty(Map.of())
+            .genericFilter(List.of())
+            .limitViolationsTypes(List.of())
+            .build(), violations)).isEqualTo(violations);
+        verifyNoInteractions(networkStoreService);
+    }
+
+    @Test
+    void perimeterIsEvaluatedOnTheLoadedNetworkWithThreeWindingsTransformers() {
+        assertThat(filterService.filterPerimeterViolations(network, GlobalFilter.builder().countryCode(List.of(Country.FR)).build(), violations))
+            .containsExactly(transformerViolation, voltageLevelViolation);
+        assertThat(filterService.filterPerimeterViolations(network, GlobalFilter.builder().countryCode(List.of(Country.BE)).build(), violations))
+            .isEmpty();
+        assertThat(filterService.filterPerimeterViolations(network, GlobalFilter.builder()
+            .substationProperty(Map.of("region", List.of("north")))
+            .limitViolationsTypes(List.of(LimitViolationType.CURRENT))
+            .build(), violations))
+            .containsExactly(transformerViolation);
+
+        // the transformer is inside of the voltage range of its third leg only
+        int leg3NominalV = (int) transformer.getLeg3().getTerminal().getVoltageLevel().getNominalV();
+        assertThat(filterService.filterPerimeterViolations(network, GlobalFilter.builder()
+            .voltageRanges(List.of(List.of(leg3NominalV, leg3NominalV)))
+            .build(), violations))
+            .containsExactly(transformerViolation);
+        verifyNoInteractions(networkStoreService);
+    }
+}
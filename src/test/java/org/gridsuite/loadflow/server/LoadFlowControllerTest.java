@@ -9,6 +9,8 @@ package org.gridsuite.loadflow.server;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.github.benmanes.caffeine.cache.Cache;
 import com.github.tomakehurst.wiremock.WireMockServer;
 import com.github.tomakehurst.wiremock.client.WireMock;
 import com.powsybl.contingency.violations.BusBreakerViolationLocation;
@@ -18,6 +20,7 @@ import com.powsybl.iidm.network.*;
 import com.powsybl.iidm.network.test.EurostagTutorialExample1Factory;
 import com.powsybl.loadflow.LoadFlow;
 import com.powsybl.loadflow.LoadFlowParameters;
+import com.powsybl.loadflow.LoadFlowProvider;
 import com.powsybl.loadflow.LoadFlowResult;
 import com.powsybl.loadflow.LoadFlowResultImpl;
 import com.powsybl.loadflow.LoadFlowRunParameters;
@@ -25,6 +28,7 @@ import com.powsybl.network.store.client.NetworkStoreService;
 import com.powsybl.network.store.client.PreloadingStrategy;
 import com.powsybl.network.store.iidm.impl.NetworkFactoryImpl;
 import com.powsybl.security.Security;
+import jakarta.persistence.EntityManager;
 import lombok.SneakyThrows;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.StringUtils;
@@ -41,10 +45,14 @@ import org.gridsuite.loadflow.server.dto.modifications.*;
 import org.gridsuite.loadflow.server.dto.parameters.LoadFlowParametersValues;
 import org.gridsuite.loadflow.server.entities.ComponentResultEntity;
 import org.gridsuite.loadflow.server.repositories.GlobalStatusRepository;
+import org.gridsuite.loadflow.server.service.FilterService;
 import org.gridsuite.loadflow.server.service.LimitReductionService;
 import org.gridsuite.loadflow.server.service.LoadFlowParametersService;
+import org.gridsuite.loadflow.server.service.LoadFlowResultProperties;
 import org.gridsuite.loadflow.server.service.LoadFlowResultService;
 import org.gridsuite.loadflow.server.service.LoadFlowWorkerService;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -85,6 +93,7 @@ import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 /**
@@ -130,10 +139,14 @@ class LoadFlowControllerTest {
     @MockitoBean
     private UuidGeneratorService uuidGeneratorService;
     @Autowired
-    private AbstractFilterService filterService;
+    private FilterService filterService;
     @Autowired
     LimitReductionService limitReductionService;
     @Autowired
+    private LoadFlowResultProperties resultProperties;
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
     private ObjectMapper mapper;
     private Network network;
     private Network network1;
@@ -223,12 +236,16 @@ class LoadFlowControllerTest {
         wireMockServer = new WireMockServer(wireMockConfig().dynamicPort());
         wireMockServer.start();
         ReflectionTestUtils.setField(filterService, "filterServerBaseUri", wireMockServer.baseUrl());
+        // the resource filters cached by the previous tests were resolved by another filter server mock
+        ((Cache<?, ?>) Objects.requireNonNull(ReflectionTestUtils.getField(filterService, "resourceFilters"))).invalidateAll();
         // purge messages
         while (output.receive(1000, "loadflow.result") != null) {
         }
         // purge messages
         while (output.receive(1000, "loadflow.run") != null) {
         }
+        while (output.receive(1000, "loadflow.run.batch") != null) {
+        }
         while (output.receive(1000, "loadflow.cancel") != null) {
         }
         while (output.receive(1000, "loadflow.stopped") != null) {
@@ -287,6 +304,38 @@ class LoadFlowControllerTest {
         }
     }
 
+    @Test
+    void runBatchTest() throws Exception {
+        LoadFlow.Runner runner = Mockito.mock(LoadFlow.Runner.class);
+        try (MockedStatic<LoadFlow> loadFlowMockedStatic = Mockito.mockStatic(LoadFlow.class);
+             MockedStatic<Security> securityMockedStatic = Mockito.mockStatic(Security.class)) {
+            loadFlowMockedStatic.when(() -> LoadFlow.find(any())).thenReturn(runner);
+            securityMockedStatic.when(() -> Security.checkLimits(any(), anyDouble())).thenReturn(LimitViolationsMock.limitViolations);
+            securityMockedStatic.when(() -> Security.checkLimits(any(), any())).thenReturn(LimitViolationsMock.limitViolations);
+
+            Mockito.when(runner.runAsync(eq(network), eq(VARIANT_2_ID), any(LoadFlowRunParameters.class)))
+                    .thenReturn(CompletableFuture.completedFuture(LoadFlowResultMock.RESULT));
+
+            // batch runs are sent to their own destination and consumed by the batch consumers
+            MvcResult result = mockMvc.perform(post(
+                    "/" + VERSION + "/networks/{networkUuid}/run-and-save?reportType=LoadFlow&receiver=me&variantId=" + VARIANT_2_ID + "&parametersUuid=" + PARAMETERS_UUID
+                            + "&priority=BATCH", NETWORK_UUID)
+                    .header(HEADER_USER_ID, "userId"))
+                .andExpect(status().isOk())
+                .andReturn();
+            assertEquals(RESULT_UUID, mapper.readValue(result.getResponse().getContentAsString(), UUID.class));
+
+            Message<byte[]> runMessage = output.receive(1000, "loadflow.run.batch");
+            assertEquals("BATCH", runMessage.getHeaders().get("runPriority"));
+            assertNull(output.receive(100, "loadflow.run"));
+
+            Message<byte[]> resultMessage = output.receive(1000, "loadflow.result");
+            assertEquals(RESULT_UUID.toString(), resultMessage.getHeaders().get("resultUuid"));
+            mockMvc.perform(get("/" + VERSION + "/results/{resultUuid}", RESULT_UUID))
+                .andExpect(status().isOk());
+        }
+    }
+
     private void runTest(boolean applySolvedValues) throws Exception {
         MvcResult result = mockMvc.perform(post(
                 "/" + VERSION + "/networks/{networkUuid}/run-and-save?reportType=LoadFlow&receiver=me&variantId=" + VARIANT_2_ID + "&parametersUuid=" + PARAMETERS_UUID + "&applySolvedValues="
@@ -308,6 +357,16 @@ class LoadFlowControllerTest {
             .andReturn();
         org.gridsuite.loadflow.server.dto.LoadFlowResult resultDto = mapper.readValue(result.getResponse().getContentAsString(), org.gridsuite.loadflow.server.dto.LoadFlowResult.class);
         assertResultsEquals(LoadFlowResultMock.RESULT, resultDto);
+
+        result = mockMvc.perform(get(
+                "/" + VERSION + "/results/{resultUuid}", RESULT_UUID)
+                .accept(MediaType.APPLICATION_CBOR))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+            .andReturn();
+        resultDto = CBORMapper.builder().findAndAddModules().build()
+            .readValue(result.getResponse().getContentAsByteArray(), org.gridsuite.loadflow.server.dto.LoadFlowResult.class);
+        assertResultsEquals(LoadFlowResultMock.RESULT, resultDto);
         assertSolvedValues(applySolvedValues);
     }
 
@@ -373,6 +432,17 @@ class LoadFlowControllerTest {
             List<LimitViolationInfos> limitViolations = mapper.readValue(result.getResponse().getContentAsString(), new TypeReference<>() {
             });
             assertLimitViolationsEquals(LimitViolationsMock.limitViolations, limitViolations, network);
+
+            // same limit violations in CBOR
+            result = mockMvc.perform(get(
+                            "/" + VERSION + "/results/{resultUuid}/limit-violations?sort=limitName,asc", RESULT_UUID)
+                            .accept(MediaType.APPLICATION_CBOR))
+                    .andExpect(status().isOk())
+                    .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                    .andReturn();
+            limitViolations = new CBORMapper().readValue(result.getResponse().getContentAsByteArray(), new TypeReference<>() {
+            });
+            assertLimitViolationsEquals(LimitViolationsMock.limitViolations, limitViolations, network);
         }
     }
 
@@ -582,13 +652,33 @@ class LoadFlowControllerTest {
                             .withBody(mapper.writeValueAsString(List.of(lineFilter)))
                             .withHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE))).getId();
 
-            assertLimitViolations(createStringGlobalFilter(
+            String lineGlobalFilter = createStringGlobalFilter(
                     List.of(),
                     Map.of(),
                     List.of(Country.FR),
                     List.of(FILTER_ID_1),
                     List.of(LimitViolationType.CURRENT)
-            ), 2);
+            );
+            assertLimitViolations(lineGlobalFilter, 2);
+
+            // the same global filter is resolved once
+            assertLimitViolations(lineGlobalFilter, 2);
+            wireMockServer.verify(1, WireMock.getRequestedFor(WireMock.urlMatching("/v1/filters/metadata\\?ids=" + FILTER_ID_1)));
+
+            // large global filters are bound as an array parameter instead of an IN list, the database still only returns the kept violations
+            Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+            statistics.clear();
+            assertLimitViolations(lineGlobalFilter, 2);
+            long inListFetchedRows = getFetchedRows(statistics);
+            int globalFilterArrayThreshold = resultProperties.getGlobalFilterArrayThreshold();
+            resultProperties.setGlobalFilterArrayThreshold(0);
+            try {
+                statistics.clear();
+                assertLimitViolations(lineGlobalFilter, 2);
+                assertEquals(inListFetchedRows, getFetchedRows(statistics));
+            } finally {
+                resultProperties.setGlobalFilterArrayThreshold(globalFilterArrayThreshold);
+            }
 
             // generic filter with voltage level filter
             AbstractFilter votageLevelFilter = new IdentifierListFilter(
@@ -612,6 +702,50 @@ class LoadFlowControllerTest {
         }
     }
 
+    @Test
+    void testRunWithPerimeter() throws Exception {
+        LoadFlow.Runner runner = Mockito.mock(LoadFlow.Runner.class);
+        try (MockedStatic<LoadFlow> loadFlowMockedStatic = Mockito.mockStatic(LoadFlow.class);
+             MockedStatic<Security> securityMockedStatic = Mockito.mockStatic(Security.class)) {
+            loadFlowMockedStatic.when(() -> LoadFlow.find(any())).thenReturn(runner);
+            securityMockedStatic.when(() -> Security.checkLimitsDc(any(), any(), anyDouble())).thenReturn(LimitViolationsMock.limitViolations);
+
+            Mockito.when(runner.runAsync(eq(network), eq(VARIANT_2_ID), any(LoadFlowRunParameters.class)))
+                    .thenReturn(CompletableFuture.completedFuture(LoadFlowResultMock.RESULT));
+
+            LoadFlowParameters loadFlowParameters = LoadFlowParameters.load();
+            loadFlowParameters.setDc(true);
+            LoadFlowParametersValues loadFlowParametersInfos = LoadFlowParametersValues.builder()
+                    .commonParameters(loadFlowParameters)
+                    .specificParameters(Collections.emptyMap())
+                    .build();
+            doReturn(Optional.of(loadFlowParametersInfos)).when(loadFlowParametersService).getParametersValues(any(), any());
+
+            AbstractFilter lineFilter = new IdentifierListFilter(
+                    FILTER_ID_1,
+                    new Date(),
+                    EquipmentType.LINE,
+                    List.of(new IdentifierListFilterEquipmentAttributes("NHV1_NHV2_1", 30.)));
+            wireMockServer.stubFor(WireMock.get(WireMock.urlMatching("/v1/filters/metadata\\?ids=" + FILTER_ID_1))
+                    .willReturn(WireMock.ok()
+                            .withBody(mapper.writeValueAsString(List.of(lineFilter)))
+                            .withHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)));
+
+            String perimeter = createStringGlobalFilter(List.of(), Map.of(), List.of(), List.of(FILTER_ID_1), List.of());
+            mockMvc.perform(post(
+                            "/" + VERSION + "/networks/{networkUuid}/run-and-save?reportType=LoadFlow&receiver=me&variantId=" + VARIANT_2_ID + "&parametersUuid=" + PARAMETERS_UUID
+                                    + "&limitReduction=0.7&perimeter=" + URLEncoder.encode(perimeter, StandardCharsets.UTF_8), NETWORK_UUID)
+                            .header(HEADER_USER_ID, "userId"))
+                    .andExpect(status().isOk());
+
+            Message<byte[]> resultMessage = output.receive(1000, "loadflow.result");
+            assertEquals(RESULT_UUID.toString(), resultMessage.getHeaders().get("resultUuid"));
+
+            // only the violations on the line of the perimeter are saved
+            assertLimitViolations(null, 2);
+        }
+    }
+
     private String createStringGlobalFilter(
         List<List<Integer>> voltageRanges,
         Map<String, List<String>> substationProperty,
@@ -652,6 +786,10 @@ class LoadFlowControllerTest {
         return uriComponentsBuilder.build().toUriString();
     }
 
+    private static long getFetchedRows(Statistics statistics) {
+        return Arrays.stream(statistics.getQueries()).mapToLong(query -> statistics.getQueryStatistics(query).getExecutionRowCount()).sum();
+    }
+
     private void assertLimitViolations(String stringGlobalFilter, int expectedCount) throws Exception {
         MvcResult mvcResult = mockMvc.perform(get(buildGlobalFilterUrl(stringGlobalFilter)))
                 .andExpectAll(
@@ -848,12 +986,14 @@ class LoadFlowControllerTest {
                 .andReturn();
 
         ArgumentCaptor<LoadFlowResult> loadFlowResultCaptor = ArgumentCaptor.forClass(LoadFlowResult.class);
+        String noModifications = mapper.writeValueAsString(new LoadFlowModificationInfos());
         verify(uuidGeneratorService).generate();
         verify(loadFlowResultService).insert(eq(resultUuid),
                 loadFlowResultCaptor.capture(),
                 eq(LoadFlowStatus.DIVERGED),
-                eq(new LoadFlowModificationInfos()),
+                argThat(modifications -> noModifications.equals(modifications.toJsonString())),
                 eq(Collections.emptyList()),
+                isNull(),
                 eq(Collections.emptyMap()),
                 eq(Collections.emptyList()),
                 eq(Collections.emptyMap()));
@@ -864,6 +1004,87 @@ class LoadFlowControllerTest {
                         .getContentAsString(), UUID.class)).isEqualTo(resultUuid);
     }
 
+    @Test
+    void testResultETag() throws Exception {
+        UUID resultUuid = UUID.randomUUID();
+        when(uuidGeneratorService.generate()).thenReturn(resultUuid);
+        mockMvc.perform(post("/" + VERSION + "/results").contentType(MediaType.APPLICATION_JSON)
+                        .content(mapper.writeValueAsString(LoadFlowResultMock.RESULT)))
+                .andExpect(status().isOk());
+
+        String eTag = mockMvc.perform(get("/" + VERSION + "/results/{resultUuid}", resultUuid))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotNull(eTag);
+
+        // same request with the ETag: not modified, and the result is not read again
+        mockMvc.perform(get("/" + VERSION + "/results/{resultUuid}", resultUuid).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+        verify(loadFlowResultService, times(1)).getResult(eq(resultUuid), any(), any());
+
+        // other query parameters or format: other ETag
+        String filteredETag = mockMvc.perform(get("/" + VERSION + "/results/{resultUuid}?sort=connectedComponentNum,desc", resultUuid)
+                        .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotEquals(eTag, filteredETag);
+        String cborETag = mockMvc.perform(get("/" + VERSION + "/results/{resultUuid}", resultUuid)
+                        .accept(MediaType.APPLICATION_CBOR)
+                        .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotEquals(eTag, cborETag);
+
+        String violationsETag = mockMvc.perform(get("/" + VERSION + "/results/{resultUuid}/limit-violations", resultUuid))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        mockMvc.perform(get("/" + VERSION + "/results/{resultUuid}/limit-violations", resultUuid).header(HttpHeaders.IF_NONE_MATCH, violationsETag))
+                .andExpect(status().isNotModified());
+        verify(loadFlowResultService, times(1)).getLimitViolationsInfos(eq(resultUuid), any(), any(), any(), any(), any());
+
+        // a result re-created with the same UUID gets a new ETag
+        mockMvc.perform(delete("/" + VERSION + "/results").queryParam("resultsUuids", resultUuid.toString()))
+                .andExpect(status().isOk());
+        mockMvc.perform(post("/" + VERSION + "/results").contentType(MediaType.APPLICATION_JSON)
+                        .content(mapper.writeValueAsString(LoadFlowResultMock.RESULT)))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/" + VERSION + "/results/{resultUuid}", resultUuid).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk());
+
+        // no ETag for an unknown result
+        mockMvc.perform(get("/" + VERSION + "/results/{resultUuid}", OTHER_RESULT_UUID))
+                .andExpect(status().isNotFound())
+                .andExpect(header().doesNotExist(HttpHeaders.ETAG));
+    }
+
+    @Test
+    void testDeletedResultIsNotServedWhileItsAliasIs() throws Exception {
+        UUID resultUuid = UUID.randomUUID();
+        UUID aliasUuid = UUID.randomUUID();
+        when(uuidGeneratorService.generate()).thenReturn(resultUuid);
+        mockMvc.perform(post("/" + VERSION + "/results").contentType(MediaType.APPLICATION_JSON)
+                        .content(mapper.writeValueAsString(LoadFlowResultMock.RESULT)))
+                .andExpect(status().isOk());
+        loadFlowResultService.saveFingerprint(resultUuid, "fingerprint");
+        assertTrue(loadFlowResultService.insertAliasByFingerprint(aliasUuid, "fingerprint").isPresent());
+
+        // the deleted result UUID is not found anymore, the stored result is still served for the alias
+        mockMvc.perform(delete("/" + VERSION + "/results").queryParam("resultsUuids", resultUuid.toString()))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/" + VERSION + "/results/{resultUuid}", resultUuid))
+                .andExpect(status().isNotFound())
+                .andExpect(header().doesNotExist(HttpHeaders.ETAG));
+        mockMvc.perform(get("/" + VERSION + "/results/{resultUuid}", aliasUuid))
+                .andExpect(status().isOk());
+
+        // until the alias is deleted too
+        mockMvc.perform(delete("/" + VERSION + "/results").queryParam("resultsUuids", aliasUuid.toString()))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/" + VERSION + "/results/{resultUuid}", aliasUuid))
+                .andExpect(status().isNotFound());
+    }
+
     @SneakyThrows
     @Test
     void testStatus() {
@@ -965,6 +1186,25 @@ class LoadFlowControllerTest {
         assertEquals(Set.of("OpenLoadFlow", "DynaFlow"), lfParams.keySet());
         assertTrue(lfParams.values().stream().noneMatch(CollectionUtils::isEmpty));
 
+        // unknown provider
+        mockMvc.perform(get("/" + VERSION + "/specific-parameters?provider=unknown"))
+                .andExpect(status().isOk())
+                .andExpect(content().json("{}"));
+    }
+
+    @Test
+    void providerCatalogIsLoadedOnce() throws Exception {
+        mockMvc.perform(get("/" + VERSION + "/providers")).andExpect(status().isOk());
+
+        try (MockedStatic<LoadFlowProvider> providerMockedStatic = Mockito.mockStatic(LoadFlowProvider.class)) {
+            mockMvc.perform(get("/" + VERSION + "/providers"))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "max-age=3600"));
+            mockMvc.perform(get("/" + VERSION + "/specific-parameters?provider=OpenLoadFlow"))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "max-age=3600"));
+            providerMockedStatic.verify(LoadFlowProvider::findAll, never());
+        }
     }
 
     private static final class LoadFlowResultMock {
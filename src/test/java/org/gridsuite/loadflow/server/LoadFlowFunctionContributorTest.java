@@ -0,0 +1,85 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.loadflow.server;
+
+import org.gridsuite.loadflow.server.repositories.LimitViolationRepository;
+import org.gridsuite.loadflow.server.repositories.specifications.LimitViolationsSpecificationBuilder;
+import org.gridsuite.loadflow.server.repositories.specifications.LoadFlowFunctionContributor;
+import org.hibernate.boot.model.FunctionContributions;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.query.sqm.function.SqmFunctionRegistry;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.hibernate.type.spi.TypeConfiguration;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Checks the SQL rendered for the subject ids of a large global filter, bound as a single array parameter.
+ *
+ * @author Anis Touri <anis.touri at rte-france.com>
+ */
+@SpringBootTest
+class LoadFlowFunctionContributorTest {
+
+    private static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+    @TestConfiguration
+    static class StatementRecordingConfig {
+        @Bean
+        HibernatePropertiesCustomizer statementRecordingCustomizer() {
+            return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, (StatementInspector) sql -> {
+                STATEMENTS.add(sql);
+                return sql;
+            });
+        }
+    }
+
+    @Autowired
+    private LimitViolationRepository limitViolationRepository;
+
+    @Autowired
+    private LimitViolationsSpecificationBuilder limitViolationsSpecificationBuilder;
+
+    @Test
+    void subjectIdsAreComparedToTheColumnOnPostgreSql() {
+        FunctionContributions functionContributions = mock(FunctionContributions.class);
+        SqmFunctionRegistry functionRegistry = mock(SqmFunctionRegistry.class);
+        when(functionContributions.getDialect()).thenReturn(new PostgreSQLDialect());
+        when(functionContributions.getFunctionRegistry()).thenReturn(functionRegistry);
+        when(functionContributions.getTypeConfiguration()).thenReturn(mock(TypeConfiguration.class, RETURNS_DEEP_STUBS));
+
+        new LoadFlowFunctionContributor().contributeFunctions(functionContributions);
+
+        // and not "? @> array[subject_id]", which cannot use the indexes on subject_id
+        verify(functionRegistry).registerPattern(eq(LoadFlowFunctionContributor.VARCHAR_IN_ARRAY), eq("(?1 = any(cast(?2 as varchar[])))"), any());
+    }
+
+    @Test
+    void subjectIdsAreBoundAsASingleArrayParameter() {
+        STATEMENTS.clear();
+
+        assertThat(limitViolationRepository.findAll(limitViolationsSpecificationBuilder.subjectIdIn(new String[] {"line1", "line2", "line3"})))
+            .isEmpty();
+
+        assertThat(STATEMENTS).filteredOn(sql -> sql.contains("limit_violation")).singleElement().satisfies(sql -> assertThat(sql)
+            .contains(".subject_id = any(cast(? as varchar array))")
+            .doesNotContainIgnoringCase("array_contains"));
+    }
+}
@@ -0,0 +1,296 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.loadflow.server;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.powsybl.iidm.network.Network;
+import com.powsybl.iidm.network.VariantManagerConstants;
+import com.powsybl.loadflow.LoadFlowParameters;
+import com.powsybl.network.store.client.NetworkStoreService;
+import com.powsybl.network.store.client.PreloadingStrategy;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationHandler;
+import org.gridsuite.computation.dto.ReportInfos;
+import org.gridsuite.computation.service.ReportService;
+import org.gridsuite.loadflow.server.dto.parameters.LoadFlowParametersValues;
+import org.gridsuite.loadflow.server.service.LimitReductionService;
+import org.gridsuite.loadflow.server.service.LoadFlowResultContext;
+import org.gridsuite.loadflow.server.service.LoadFlowResultService;
+import org.gridsuite.loadflow.server.service.LoadFlowRunContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.cloud.stream.binder.test.InputDestination;
+import org.springframework.cloud.stream.binder.test.OutputDestination;
+import org.springframework.cloud.stream.binder.test.TestChannelBinderConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.messaging.Message;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.ContextHierarchy;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.doAnswer;
+
+/**
+ * Load test of a single server instance: run messages are pushed through the {@code consumeRun} binding of the test binder,
+ * computed by the real loadflow provider on in-memory synthetic networks served by a stubbed {@link NetworkStoreService},
+ * and persisted in H2.
+ * <p>
+ * Disabled by default, run it with {@code mvn test -Dtest=LoadFlowLoadTest -Dloadflow.benchmark=true}.
+ * It is tuned with {@code -Dloadflow.benchmark.runs}, {@code .concurrency} (number of messages processed at the same time),
+ * {@code .buses} (network size), {@code .warmup-runs} and {@code .provider}.
+ * <p>
+ * Each run records its queue wait (from submission until a consumer picks it up), its processing time and its end-to-end latency.
+ * The durations of all observations recorded during the runs are reported as well. Compute time is the last observation that ends
+ * before the result insertion starts, solved values application aside, and post-processing time is the time between that end and
+ * the insertion start.
+ * The JSON report is written in {@code target/benchmarks}.
+ *
+ * @author Anis Touri <anis.touri at rte-france.com>
+ */
+@SpringBootTest
+@ContextHierarchy({@ContextConfiguration(classes = {LoadFlowApplication.class, TestChannelBinderConfiguration.class, LoadFlowLoadTest.StageTimingConfiguration.class})})
+@Tag("benchmark")
+@EnabledIfSystemProperty(named = BenchmarkRecorder.BENCHMARK_PROPERTY, matches = "true")
+class LoadFlowLoadTest {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(LoadFlowLoadTest.class);
+
+    private static final String RUN_DESTINATION = "loadflow.run";
+    private static final String RESULT_DESTINATION = "loadflow.result";
+
+    private static final int RUNS = BenchmarkRecorder.intProperty("runs", 40);
+    private static final int WARMUP_RUNS = BenchmarkRecorder.intProperty("warmup-runs", 2);
+    private static final int CONCURRENCY = BenchmarkRecorder.intProperty("concurrency", 4);
+    private static final int BUSES = BenchmarkRecorder.intProperty("buses", 500);
+    private static final String PROVIDER = Objects.requireNonNullElse(BenchmarkRecorder.stringProperty("provider"), "OpenLoadFlow");
+
+    @Autowired
+    private InputDestination input;
+    @Autowired
+    private OutputDestination output;
+    @MockitoBean
+    private NetworkStoreService networkStoreService;
+    @MockitoBean
+    private ReportService reportService;
+    @MockitoSpyBean
+    private LoadFlowResultService loadFlowResultService;
+    @Autowired
+    private LimitReductionService limitReductionService;
+    @Autowired
+    private StageTimingHandler stageTimingHandler;
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final Map<UUID, Network> networks = new ConcurrentHashMap<>();
+    private final List<UUID> resultUuids = Collections.synchronizedList(new ArrayList<>());
+
+    @TestConfiguration
+    static class StageTimingConfiguration {
+        @Bean
+        StageTimingHandler stageTimingHandler() {
+            return new StageTimingHandler();
+        }
+    }
+
+    /**
+     * Timing of the run currently processed by a consumer thread.
+     */
+    static final class RunTimings {
+        private long lastObservationStop;
+        private long lastObservationDuration;
+        private long insertStart;
+    }
+
+    /**
+     * Records the duration of every observation, and keeps track of the last one ended by the current run before the result insertion.
+     */
+    static final class StageTimingHandler implements ObservationHandler<Observation.Context> {
+        private static final String START_NANOS = StageTimingHandler.class.getName() + ".startNanos";
+        private static final Set<String> POST_PROCESSING_OBSERVATIONS = Set.of("solved.values.apply");
+
+        private final ThreadLocal<RunTimings> currentRun = new ThreadLocal<>();
+        private volatile BenchmarkRecorder recorder;
+
+        @Override
+        public void onStart(Observation.Context context) {
+            context.put(START_NANOS, System.nanoTime());
+        }
+
+        @Override
+        public void onStop(Observation.Context context) {
+            Long start = context.get(START_NANOS);
+            BenchmarkRecorder currentRecorder = recorder;
+            if (start == null || currentRecorder == null) {
+                return;
+            }
+            long stop = System.nanoTime();
+            currentRecorder.record("observation." + context.getName(), stop - start);
+            RunTimings run = currentRun.get();
+            if (run != null && run.insertStart == 0 && !POST_PROCESSING_OBSERVATIONS.contains(context.getName())) {
+                run.lastObservationStop = stop;
+                run.lastObservationDuration = stop - start;
+            }
+        }
+
+        @Override
+        public boolean supportsContext(Observation.Context context) {
+            return true;
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        given(networkStoreService.getNetwork(any(UUID.class), any(PreloadingStrategy.class)))
+            .willAnswer(invocation -> networks.get(invocation.<UUID>getArgument(0)));
+
+        doAnswer(invocation -> {
+            RunTimings run = stageTimingHandler.currentRun.get();
+            long start = System.nanoTime();
+            if (run != null) {
+                run.insertStart = start;
+            }
+            Object result = invocation.callRealMethod();
+            BenchmarkRecorder recorder = stageTimingHandler.recorder;
+            if (recorder != null) {
+                recorder.record("insert", System.nanoTime() - start);
+            }
+            return result;
+        }).when(loadFlowResultService).insert(any(), any(), any(), any(), any(), any(), any(), any(), any());
+    }
+
+    @AfterEach
+    void tearDown() {
+        stageTimingHandler.recorder = null;
+        resultUuids.forEach(loadFlowResultService::delete);
+        networks.clear();
+        while (output.receive(100, RESULT_DESTINATION) != null) {
+            // purge result notifications
+        }
+    }
+
+    @Test
+    void loadTestRuns() throws InterruptedException {
+        LoadFlowParametersValues parameters = LoadFlowParametersValues.builder()
+            .provider(PROVIDER)
+            .commonParameters(LoadFlowParameters.load())
+            .specificParameters(Collections.emptyMap())
+            .limitReductions(limitReductionService.createDefaultLimitReductions())
+            .build();
+
+        // warmup runs are processed one at a time and not recorded
+        stageTimingHandler.recorder = new BenchmarkRecorder("warmup");
+        runAll(createMessages(WARMUP_RUNS, parameters), 1, stageTimingHandler.recorder);
+
+        BenchmarkRecorder recorder = new BenchmarkRecorder("load-test")
+            .configuration("provider", PROVIDER)
+            .configuration("runs", RUNS)
+            .configuration("concurrency", CONCURRENCY)
+            .configuration("buses", BUSES);
+        stageTimingHandler.recorder = recorder;
+        List<Message<String>> messages = createMessages(RUNS, parameters);
+
+        long start = System.nanoTime();
+        int failures = runAll(messages, CONCURRENCY, recorder);
+        double elapsedSeconds = (System.nanoTime() - start) / 1e9;
+
+        int resultMessages = 0;
+        while (output.receive(100, RESULT_DESTINATION) != null) {
+            resultMessages++;
+        }
+        recorder.metric("elapsedSeconds", elapsedSeconds)
+            .metric("runsPerMinute", RUNS / elapsedSeconds * 60)
+            .metric("failedRuns", failures)
+            .metric("resultMessages", resultMessages);
+
+        Path report = recorder.writeReport();
+        LOGGER.info("Load test written to {} : {} runs/min, {}", report.toAbsolutePath(), RUNS / elapsedSeconds * 60, recorder.summary());
+        assertEquals(0, failures);
+    }
+
+    private List<Message<String>> createMessages(int count, LoadFlowParametersValues parameters) {
+        List<Message<String>> messages = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            UUID networkUuid = UUID.randomUUID();
+            UUID resultUuid = UUID.randomUUID();
+            networks.put(networkUuid, Networks.createMeshedNetwork(networkUuid + "_", BUSES));
+            resultUuids.add(resultUuid);
+            LoadFlowRunContext runContext = LoadFlowRunContext.builder()
+                .networkUuid(networkUuid)
+                .variantId(VariantManagerConstants.INITIAL_VARIANT_ID)
+                .receiver("loadTest")
+                .provider(PROVIDER)
+                .parameters(parameters)
+                .applySolvedValues(true)
+                .reportInfos(ReportInfos.builder().build())
+                .userId("loadTestUser")
+                .build();
+            messages.add(new LoadFlowResultContext(resultUuid, runContext).toMessage(objectMapper));
+        }
+        return messages;
+    }
+
+    /**
+     * The test binder dispatches a message on the sending thread, so the executor threads play the role of the consumers
+     * and its queue the role of the broker queue.
+     */
+    private int runAll(List<Message<String>> messages, int concurrency, BenchmarkRecorder recorder) throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(concurrency);
+        AtomicInteger failures = new AtomicInteger();
+        try {
+            for (Message<String> message : messages) {
+                long submitted = System.nanoTime();
+                executor.execute(() -> {
+                    long started = System.nanoTime();
+                    RunTimings run = new RunTimings();
+                    stageTimingHandler.currentRun.set(run);
+                    try {
+                        input.send(message, RUN_DESTINATION);
+                    } catch (RuntimeException e) {
+                        failures.incrementAndGet();
+                        LOGGER.error("Load test run failed", e);
+                    } finally {
+                        stageTimingHandler.currentRun.remove();
+                    }
+                    long ended = System.nanoTime();
+                    recorder.record("queueWait", started - submitted);
+                    recorder.record("processing", ended - started);
+                    recorder.record("endToEnd", ended - submitted);
+                    if (run.insertStart != 0 && run.lastObservationStop != 0) {
+                        recorder.record("compute", run.lastObservationDuration);
+                        recorder.record("postProcessing", run.insertStart - run.lastObservationStop);
+                    }
+                });
+            }
+        } finally {
+            executor.shutdown();
+            if (!executor.awaitTermination(1, TimeUnit.HOURS)) {
+                executor.shutdownNow();
+            }
+        }
+        return failures.get() + (int) messages.stream()
+            .map(message -> UUID.fromString((String) message.getHeaders().get("resultUuid")))
+            .filter(resultUuid -> loadFlowResultService.findStatus(resultUuid) == null)
+            .count();
+    }
+}
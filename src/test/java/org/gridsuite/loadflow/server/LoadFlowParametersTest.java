@@ -8,7 +8,9 @@ package org.gridsuite.loadflow.server;
 
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.powsybl.iidm.network.Country;
 import com.powsybl.loadflow.LoadFlowParameters;
+import jakarta.persistence.EntityManager;
 import org.gridsuite.computation.error.ComputationException;
 import org.gridsuite.loadflow.server.dto.parameters.LimitReductionsByVoltageLevel;
 import org.gridsuite.loadflow.server.dto.parameters.LoadFlowParametersInfos;
@@ -17,6 +19,8 @@ import org.gridsuite.loadflow.server.entities.parameters.LoadFlowParametersEntit
 import org.gridsuite.loadflow.server.repositories.parameters.LoadFlowParametersRepository;
 import org.gridsuite.loadflow.server.service.LimitReductionService;
 import org.gridsuite.loadflow.server.service.LoadFlowParametersService;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -30,6 +34,8 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
 import java.util.UUID;
 
 import static com.powsybl.network.store.model.NetworkStoreApi.VERSION;
@@ -68,6 +74,9 @@ class LoadFlowParametersTest {
     @Autowired
     LimitReductionService limitReductionService;
 
+    @Autowired
+    EntityManager entityManager;
+
     @Value("${loadflow.default-provider}")
     String defaultLoadFlowProvider;
 
@@ -317,6 +326,61 @@ class LoadFlowParametersTest {
         assertThat(parametersService.toLoadFlowParametersValues(parametersRepository.findById(parametersUuid).get())).recursivelyEquals(parametersValues);
     }
 
+    @Test
+    void testGetCachedParametersValues() {
+        UUID parametersUuid = saveAndReturnId(buildParameters());
+
+        // each read gets its own copy of the cached values
+        LoadFlowParametersValues parametersValues = parametersService.getParametersValues(parametersUuid);
+        parametersValues.getCommonParameters().setDc(true);
+        assertFalse(parametersService.getParametersValues(parametersUuid).getCommonParameters().isDc());
+
+        // updates are seen by the next reads
+        parametersService.updateParameters(parametersUuid, buildParametersUpdate());
+        LoadFlowParametersValues updatedParametersValues = parametersService.getParametersValues(parametersUuid);
+        assertTrue(updatedParametersValues.getCommonParameters().isDc());
+        assertEquals(0.5f, updatedParametersValues.getLimitReduction());
+
+        // an update by another instance does not evict the cached values: it is seen through the version of the parameters
+        entityManager.flush();
+        entityManager.createQuery("UPDATE LoadFlowParametersEntity p SET p.dc = false, p.version = p.version + 1 WHERE p.id = :id")
+            .setParameter("id", parametersUuid)
+            .executeUpdate();
+        entityManager.clear();
+        assertFalse(parametersService.getParametersValues(parametersUuid).getCommonParameters().isDc());
+
+        parametersService.deleteParameters(parametersUuid);
+        assertThrows(NoSuchElementException.class, () -> parametersService.getParametersValues(parametersUuid));
+    }
+
+    @Test
+    void testGetAllParametersQueryCount() {
+        for (int i = 0; i < 3; i++) {
+            LoadFlowParametersInfos parameters = buildCommonAndSpecificParameters()
+                .provider(defaultLoadFlowProvider)
+                .specificParametersPerProvider(Map.of(defaultLoadFlowProvider, Map.of("param1", "value1", "param2", "value2")))
+                .limitReductions(limitReductionService.createLimitReductions(List.of(List.of(1.0, 0.9, 0.8, 0.7), List.of(1.0, 0.9, 0.8, 0.7))))
+                .build();
+            parameters.getCommonParameters().setCountriesToBalance(Set.of(Country.FR, Country.BE));
+            parametersRepository.save(parameters.toEntity());
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        List<LoadFlowParametersInfos> allParameters = parametersService.getAllParameters();
+
+        // parameters with specific parameters, then countries to balance, limit reductions and their values for all the parameters at once
+        assertEquals(3, allParameters.size());
+        allParameters.forEach(parameters -> {
+            assertEquals(2, parameters.getSpecificParametersPerProvider().get(defaultLoadFlowProvider).size());
+            assertEquals(Set.of(Country.FR, Country.BE), parameters.getCommonParameters().getCountriesToBalance());
+            assertEquals(2, parameters.getLimitReductions().size());
+        });
+        assertTrue(statistics.getPrepareStatementCount() <= 4, () -> statistics.getPrepareStatementCount() + " queries");
+    }
+
     @Test
     void testgetProvider() throws Exception {
         LoadFlowParametersInfos parameters = buildParameters();
@@ -0,0 +1,234 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.loadflow.server;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.powsybl.contingency.violations.LimitViolationType;
+import com.powsybl.loadflow.LoadFlowResult;
+import com.powsybl.loadflow.LoadFlowResultImpl;
+import org.apache.commons.lang3.tuple.Pair;
+import org.gridsuite.loadflow.server.dto.CountryAdequacy;
+import org.gridsuite.loadflow.server.dto.Exchange;
+import org.gridsuite.loadflow.server.dto.LimitViolationInfos;
+import org.gridsuite.loadflow.server.dto.LoadFlowStatus;
+import org.gridsuite.loadflow.server.dto.modifications.TapPositionType;
+import org.gridsuite.loadflow.server.service.BufferedLoadFlowModifications;
+import org.gridsuite.loadflow.server.service.LoadFlowModificationsRecorder;
+import org.gridsuite.loadflow.server.service.LoadFlowResultService;
+import org.gridsuite.loadflow.server.service.LoadFlowWorkerService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.nio.file.Path;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+/**
+ * Benchmark of the result persistence paths: insert, read with and without filters and sorts, and delete.
+ * <p>
+ * Disabled by default, run it with {@code mvn test -Dtest=LoadFlowResultBenchmarkTest -Dloadflow.benchmark=true}.
+ * Result sizes are tuned with {@code -Dloadflow.benchmark.components}, {@code .slack-buses} (per component),
+ * {@code .violations}, {@code .countries} (exchanges are generated for each pair of countries),
+ * {@code .modifications} and {@code .iterations}. It runs on the embedded H2 database unless
+ * {@code -Dloadflow.benchmark.datasource.url} (with {@code .username} and {@code .password}) points to a PostgreSQL database.
+ * The report is written as JSON in {@code target/benchmarks}.
+ *
+ * @author Anis Touri <anis.touri at rte-france.com>
+ */
+@SpringBootTest
+@Tag("benchmark")
+@EnabledIfSystemProperty(named = BenchmarkRecorder.BENCHMARK_PROPERTY, matches = "true")
+class LoadFlowResultBenchmarkTest {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(LoadFlowResultBenchmarkTest.class);
+
+    private static final int COMPONENTS = BenchmarkRecorder.intProperty("components", 20);
+    private static final int SLACK_BUSES = BenchmarkRecorder.intProperty("slack-buses", 5);
+    private static final int VIOLATIONS = BenchmarkRecorder.intProperty("violations", 20000);
+    private static final int COUNTRIES = BenchmarkRecorder.intProperty("countries", 20);
+    private static final int MODIFICATIONS = BenchmarkRecorder.intProperty("modifications", 5000);
+    private static final int ITERATIONS = BenchmarkRecorder.intProperty("iterations", 5);
+    private static final int WARMUP_ITERATIONS = BenchmarkRecorder.intProperty("warmup-iterations", 1);
+
+    private static final String VIOLATION_FILTERS = "[{\"column\":\"subjectId\",\"dataType\":\"text\",\"type\":\"contains\",\"value\":\"1\"}," +
+        "{\"column\":\"limitType\",\"dataType\":\"text\",\"type\":\"equals\",\"value\":[\"CURRENT\"]}]";
+    private static final String COMPONENT_FILTERS = "[{\"column\":\"status\",\"dataType\":\"text\",\"type\":\"equals\",\"value\":[\"CONVERGED\"]}," +
+        "{\"column\":\"id\",\"dataType\":\"text\",\"type\":\"contains\",\"value\":\"1\"}]";
+    private static final Sort VIOLATION_SORT = Sort.by(Sort.Direction.DESC, "overload").and(Sort.by("subjectId"));
+    private static final Sort COMPONENT_SORT = Sort.by(Sort.Direction.DESC, "connectedComponentNum");
+
+    private static final LimitViolationType[] LIMIT_TYPES = {LimitViolationType.CURRENT, LimitViolationType.HIGH_VOLTAGE, LimitViolationType.LOW_VOLTAGE};
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private LoadFlowResultService loadFlowResultService;
+
+    private final List<UUID> insertedResults = new ArrayList<>();
+
+    @DynamicPropertySource
+    static void datasourceProperties(DynamicPropertyRegistry registry) {
+        String url = BenchmarkRecorder.stringProperty("datasource.url");
+        if (url != null) {
+            registry.add("spring.datasource.url", () -> url);
+            registry.add("spring.datasource.username", () -> Objects.requireNonNullElse(BenchmarkRecorder.stringProperty("datasource.username"), "postgres"));
+            registry.add("spring.datasource.password", () -> Objects.requireNonNullElse(BenchmarkRecorder.stringProperty("datasource.password"), "postgres"));
+            registry.add("spring.jpa.database", () -> "POSTGRESQL");
+            registry.add("spring.jpa.properties.dialect", () -> "org.hibernate.dialect.PostgreSQLDialect");
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        insertedResults.forEach(loadFlowResultService::delete);
+    }
+
+    @Test
+    void benchmarkResultPersistence() {
+        BenchmarkRecorder recorder = new BenchmarkRecorder("result-persistence")
+            .configuration("database", Objects.requireNonNullElse(BenchmarkRecorder.stringProperty("datasource.url"), "h2"))
+            .configuration("components", COMPONENTS)
+            .configuration("slackBusesPerComponent", SLACK_BUSES)
+            .configuration("violations", VIOLATIONS)
+            .configuration("countries", COUNTRIES)
+            .configuration("modifications", MODIFICATIONS)
+            .configuration("iterations", ITERATIONS);
+
+        LoadFlowResult result = createResult();
+        List<LimitViolationInfos> violations = createLimitViolations();
+        Map<Pair<Integer, Integer>, LoadFlowWorkerService.ComponentCalculatedInfos> componentInfos = createComponentInfos();
+        List<CountryAdequacy> countryAdequacies = createCountryAdequacies();
+        Map<String, List<Exchange>> exchanges = createExchanges();
+        LoadFlowModificationsRecorder modifications = createModifications();
+
+        for (int i = 0; i < WARMUP_ITERATIONS + ITERATIONS; i++) {
+            BenchmarkRecorder iterationRecorder = i < WARMUP_ITERATIONS ? new BenchmarkRecorder("warmup") : recorder;
+            UUID resultUuid = UUID.randomUUID();
+
+            iterationRecorder.time("insert", () -> loadFlowResultService.insert(resultUuid, result, LoadFlowStatus.CONVERGED,
+                modifications, violations, null, componentInfos, countryAdequacies, exchanges));
+            insertedResults.add(resultUuid);
+
+            org.gridsuite.loadflow.server.dto.LoadFlowResult readResult = iterationRecorder.time("getResult",
+                () -> loadFlowResultService.getResult(resultUuid, null, Sort.unsorted()));
+            assertNotNull(readResult);
+            assertEquals(COMPONENTS, readResult.getComponentResults().size());
+            iterationRecorder.time("getResult.sorted", () -> loadFlowResultService.getResult(resultUuid, null, COMPONENT_SORT));
+            iterationRecorder.time("getResult.filtered", () -> loadFlowResultService.getResult(resultUuid, COMPONENT_FILTERS, Sort.unsorted()));
+            iterationRecorder.time("getResult.filteredSorted", () -> loadFlowResultService.getResult(resultUuid, COMPONENT_FILTERS, COMPONENT_SORT));
+
+            List<LimitViolationInfos> readViolations = iterationRecorder.time("getLimitViolations",
+                () -> loadFlowResultService.getLimitViolationsInfos(resultUuid, null, null, Sort.unsorted(), null, null));
+            assertEquals(VIOLATIONS, readViolations.size());
+            iterationRecorder.time("getLimitViolations.sorted",
+                () -> loadFlowResultService.getLimitViolationsInfos(resultUuid, null, null, VIOLATION_SORT, null, null));
+            iterationRecorder.time("getLimitViolations.filtered",
+                () -> loadFlowResultService.getLimitViolationsInfos(resultUuid, VIOLATION_FILTERS, null, Sort.unsorted(), null, null));
+            iterationRecorder.time("getLimitViolations.filteredSorted",
+                () -> loadFlowResultService.getLimitViolationsInfos(resultUuid, VIOLATION_FILTERS, null, VIOLATION_SORT, null, null));
+
+            iterationRecorder.time("getModifications", () -> loadFlowResultService.getLoadFlowModifications(resultUuid));
+
+            iterationRecorder.time("delete", () -> loadFlowResultService.delete(resultUuid));
+            insertedResults.remove(resultUuid);
+        }
+
+        Path report = recorder.writeReport();
+        LOGGER.info("Result persistence benchmark written to {} : {}", report.toAbsolutePath(), recorder.summary());
+    }
+
+    private static LoadFlowResult createResult() {
+        List<LoadFlowResult.ComponentResult> componentResults = new ArrayList<>(COMPONENTS);
+        for (int c = 0; c < COMPONENTS; c++) {
+            List<LoadFlowResult.SlackBusResult> slackBusResults = new ArrayList<>(SLACK_BUSES);
+            for (int s = 0; s < SLACK_BUSES; s++) {
+                slackBusResults.add(new LoadFlowResultImpl.SlackBusResultImpl("slackBus_" + c + "_" + s, s * 0.1));
+            }
+            componentResults.add(new LoadFlowResultImpl.ComponentResultImpl(c, c, c % 2 == 0 ? LoadFlowResult.ComponentResult.Status.CONVERGED : LoadFlowResult.ComponentResult.Status.FAILED,
+                null, Collections.emptyMap(), 5, null, slackBusResults, 10.0));
+        }
+        return new LoadFlowResultImpl(true, new HashMap<>(), null, componentResults);
+    }
+
+    private static List<LimitViolationInfos> createLimitViolations() {
+        List<LimitViolationInfos> violations = new ArrayList<>(VIOLATIONS);
+        for (int i = 0; i < VIOLATIONS; i++) {
+            LimitViolationType limitType = LIMIT_TYPES[i % LIMIT_TYPES.length];
+            boolean current = limitType == LimitViolationType.CURRENT;
+            violations.add(LimitViolationInfos.builder()
+                .subjectId("subject_" + i)
+                .locationId("location_" + i / 10)
+                .limitType(limitType)
+                .limit(1000.0)
+                .limitName(current ? "limit_" + i % 5 : null)
+                .nextLimitName(current ? "limit_" + (i % 5 + 1) : null)
+                .actualOverloadDuration(current ? 600 : null)
+                .upComingOverloadDuration(current ? 60 : null)
+                .overload(100.0 + i % 50)
+                .patlLimit(current ? 900.0 : null)
+                .patlOverload(current ? 110.0 + i % 50 : null)
+                .value(1000.0 + i % 500)
+                .side(current ? (i % 2 == 0 ? "ONE" : "TWO") : null)
+                .build());
+        }
+        return violations;
+    }
+
+    private static Map<Pair<Integer, Integer>, LoadFlowWorkerService.ComponentCalculatedInfos> createComponentInfos() {
+        Map<Pair<Integer, Integer>, LoadFlowWorkerService.ComponentCalculatedInfos> componentInfos = new HashMap<>();
+        for (int c = 0; c < COMPONENTS; c++) {
+            componentInfos.put(Pair.of(c, c), new LoadFlowWorkerService.ComponentCalculatedInfos(1000.0, 1010.0, 5.0, 10.0));
+        }
+        return componentInfos;
+    }
+
+    private static List<CountryAdequacy> createCountryAdequacies() {
+        List<CountryAdequacy> countryAdequacies = new ArrayList<>(COUNTRIES);
+        for (int i = 0; i < COUNTRIES; i++) {
+            countryAdequacies.add(CountryAdequacy.builder().country("C" + i).load(1000.0).generation(1010.0).losses(10.0).netPosition(0.0).build());
+        }
+        return countryAdequacies;
+    }
+
+    private static Map<String, List<Exchange>> createExchanges() {
+        Map<String, List<Exchange>> exchanges = new HashMap<>();
+        for (int i = 0; i < COUNTRIES; i++) {
+            List<Exchange> countryExchanges = new ArrayList<>(COUNTRIES - 1);
+            for (int j = 0; j < COUNTRIES; j++) {
+                if (i != j) {
+                    countryExchanges.add(Exchange.builder().country("C" + j).exchange(i - j).build());
+                }
+            }
+            exchanges.put("C" + i, countryExchanges);
+        }
+        return exchanges;
+    }
+
+    private LoadFlowModificationsRecorder createModifications() {
+        LoadFlowModificationsRecorder modifications = new BufferedLoadFlowModifications(objectMapper);
+        for (int i = 0; i < MODIFICATIONS; i++) {
+            if (i % 2 == 0) {
+                modifications.add2WTTapPositionValues("twt_" + i, 1, 2, TapPositionType.RATIO_TAP);
+            } else {
+                modifications.addSCSectionCountValue("shunt_" + i, 0, 1);
+            }
+        }
+        return modifications;
+    }
+}
@@ -0,0 +1,80 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.loadflow.server;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Locale;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks on the query plans that the result queries can select their rows through the indexes created by the changelogs.
+ * These are the plans of the H2 test database: they show that the indexes match the query shapes, not which plan
+ * PostgreSQL picks, which depends on the statistics of the tables.
+ *
+ * @author Anis Touri <anis.touri at rte-france.com>
+ */
+@SpringBootTest
+class LoadFlowResultIndexesTest {
+
+    private static final UUID RESULT_UUID = UUID.fromString("0c8de370-3e6c-4d72-b292-d355a97e0d5d");
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void limitViolationsOfAResultByLimitTypeUseCompositeIndex() {
+        String plan = explain("SELECT subject_id FROM limit_violation WHERE result_uuid = ? AND limit_type = 'CURRENT'");
+        assertUsesIndex(plan, "limitViolation_resultUuid_limitType_idx");
+    }
+
+    @Test
+    void limitViolationsOfAResultBySideUseCompositeIndex() {
+        String plan = explain("SELECT subject_id FROM limit_violation WHERE result_uuid = ? AND side = 'ONE'");
+        assertUsesIndex(plan, "limitViolation_resultUuid_side_idx");
+    }
+
+    @Test
+    void limitViolationFacetsDoNotScanTable() {
+        assertNoTableScan(explain("SELECT DISTINCT limit_type FROM limit_violation WHERE result_uuid = ? AND limit_type <> '' AND limit_type <> 'CURRENT' ORDER BY limit_type"));
+        assertNoTableScan(explain("SELECT DISTINCT side FROM limit_violation WHERE result_uuid = ? AND side <> '' ORDER BY side"));
+        assertNoTableScan(explain("SELECT subject_id FROM limit_violation WHERE result_uuid = ? ORDER BY overload"));
+        assertNoTableScan(explain("SELECT subject_id FROM limit_violation WHERE result_uuid = ? ORDER BY subject_id"));
+    }
+
+    @Test
+    void componentResultStatusesDoNotScanTable() {
+        String plan = explain("SELECT DISTINCT status FROM component_result_entity WHERE result_uuid = ?");
+        assertNoTableScan(plan);
+        assertUsesIndex(explain("SELECT iteration_count FROM component_result_entity WHERE result_uuid = ? AND status = 'CONVERGED'"),
+            "componentResult_resultUuid_status_idx");
+    }
+
+    @Test
+    void slackBusResultsOfAComponentUseIndex() {
+        String plan = explain("SELECT id FROM slack_bus_result_entity WHERE component_result_uuid = ?");
+        assertUsesIndex(plan, "slackBusResult_componentResultUuid_idx");
+    }
+
+    private String explain(String query) {
+        return jdbcTemplate.queryForObject("EXPLAIN " + query, String.class, RESULT_UUID);
+    }
+
+    private static void assertUsesIndex(String plan, String indexName) {
+        assertTrue(plan.toUpperCase(Locale.ROOT).contains(indexName.toUpperCase(Locale.ROOT)), () -> "Index " + indexName + " not used in plan:\n" + plan);
+    }
+
+    private static void assertNoTableScan(String plan) {
+        assertFalse(plan.contains("tableScan"), () -> "Table scan in plan:\n" + plan);
+    }
+}
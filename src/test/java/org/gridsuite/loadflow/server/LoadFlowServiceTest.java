@@ -4,18 +4,29 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.powsybl.contingency.violations.LimitViolationType;
 import com.powsybl.loadflow.LoadFlowParameters;
+import com.powsybl.loadflow.LoadFlowResult;
+import com.powsybl.loadflow.LoadFlowResultImpl;
 import com.powsybl.security.*;
 import org.gridsuite.computation.dto.ReportInfos;
 import org.gridsuite.computation.service.NotificationService;
 import org.gridsuite.loadflow.server.dto.LimitViolationInfos;
+import org.gridsuite.loadflow.server.dto.LoadFlowStatus;
+import org.gridsuite.loadflow.server.dto.modifications.LoadFlowModificationInfos;
+import org.gridsuite.loadflow.server.dto.modifications.TapPositionType;
 import org.gridsuite.loadflow.server.dto.parameters.LoadFlowParametersValues;
+import org.gridsuite.loadflow.server.entities.GlobalStatusEntity;
 import org.gridsuite.loadflow.server.entities.LimitViolationEntity;
 import org.gridsuite.loadflow.server.entities.LoadFlowResultEntity;
+import org.gridsuite.loadflow.server.repositories.GlobalStatusRepository;
 import org.gridsuite.loadflow.server.repositories.LimitViolationRepository;
+import org.gridsuite.loadflow.server.service.BufferedLoadFlowModifications;
 import org.gridsuite.loadflow.server.service.LoadFlowParametersService;
+import org.gridsuite.loadflow.server.service.LoadFlowResultProperties;
 import org.gridsuite.loadflow.server.service.LoadFlowResultService;
 import org.gridsuite.loadflow.server.service.LoadFlowRunContext;
+import org.gridsuite.loadflow.server.service.LoadFlowRunProperties;
 import org.gridsuite.loadflow.server.service.LoadFlowService;
+import org.gridsuite.loadflow.server.service.StreamedLoadFlowModifications;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
@@ -25,8 +36,11 @@ import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.messaging.Message;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -56,6 +70,15 @@ class LoadFlowServiceTest {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private LoadFlowResultProperties resultProperties;
+
+    @Autowired
+    private LoadFlowRunProperties runProperties;
+
+    @Autowired
+    private GlobalStatusRepository globalStatusRepository;
+
     private static final class LimitViolationsMock {
         static List<LimitViolationEntity> limitViolationEntities = Arrays.asList(
                 LimitViolationEntity.builder()
@@ -102,14 +125,15 @@ class LoadFlowServiceTest {
         Sort sort = Sort.unsorted();
 
         when(limitViolationRepository.existsLimitViolationEntitiesByLoadFlowResultResultUuid(RESULT_UUID)).thenReturn(true);
-        when(limitViolationRepository.findAll(any(Specification.class), eq(sort)))
-                .thenReturn(LimitViolationsMock.limitViolationEntities);
+        when(limitViolationRepository.findAllInfos(any(Specification.class), eq(sort)))
+                .thenReturn(LimitViolationsMock.limitViolationEntities.stream().map(LimitViolationInfos::toLimitViolationInfos).toList());
 
         List<LimitViolationInfos> result = loadFlowResultService.getLimitViolationsInfos(RESULT_UUID, stringFilters, null, sort, null, null);
 
         assertNotNull(result);
         assertEquals(LimitViolationsMock.limitViolationEntities.size(), result.size());
-        verify(limitViolationRepository, times(1)).findAll(any(Specification.class), eq(sort));
+        verify(limitViolationRepository, times(1)).findAllInfos(any(Specification.class), eq(sort));
+        verify(limitViolationRepository, never()).findAll(any(Specification.class), any(Sort.class));
     }
 
     @Test
@@ -140,4 +164,209 @@ class LoadFlowServiceTest {
         assertEquals(withRatioTapChangers, loadFlowParameters.getCommonParameters().isTransformerVoltageControlOn());
         assertEquals(resultUuid.toString(), runMessageCaptor.getValue().getHeaders().get("resultUuid"));
     }
+
+    @Test
+    void runsOfAUserWithTooManyRunsAreQueuedBehindTheOthers() {
+        UUID parametersUuid = UUID.randomUUID();
+        Mockito.when(loadFlowParametersService.getParametersValues(parametersUuid)).thenReturn(
+            LoadFlowParametersValues.builder()
+                .commonParameters(LoadFlowParameters.load())
+                .build()
+        );
+        String busyUser = "busyUser-" + UUID.randomUUID();
+        String otherUser = "otherUser-" + UUID.randomUUID();
+
+        // 2 runs waiting or in progress by default: the third run of the user is queued behind the runs of the other users
+        UUID firstResultUuid = UUID.randomUUID();
+        assertEquals(5, runAndGetMessagePriority(firstResultUuid, busyUser, parametersUuid));
+        assertEquals(5, runAndGetMessagePriority(UUID.randomUUID(), busyUser, parametersUuid));
+        assertEquals(0, runAndGetMessagePriority(UUID.randomUUID(), busyUser, parametersUuid));
+        assertEquals(5, runAndGetMessagePriority(UUID.randomUUID(), otherUser, parametersUuid));
+
+        // once a run of the user ends, the next one is no longer held back
+        loadFlowResultService.insertStatus(List.of(firstResultUuid), LoadFlowStatus.CONVERGED);
+        assertEquals(5, runAndGetMessagePriority(UUID.randomUUID(), busyUser, parametersUuid));
+    }
+
+    @Test
+    void staleRunningRunsDoNotHoldBackTheUser() {
+        UUID parametersUuid = UUID.randomUUID();
+        Mockito.when(loadFlowParametersService.getParametersValues(parametersUuid)).thenReturn(
+            LoadFlowParametersValues.builder()
+                .commonParameters(LoadFlowParameters.load())
+                .build()
+        );
+        String userId = "staleUser-" + UUID.randomUUID();
+
+        // runs lost by a crashed consumer stay RUNNING forever: they are no longer counted once out of the window
+        Instant staleSubmissionDate = Instant.now().minus(runProperties.getUserRunsWindow()).minus(Duration.ofMinutes(1));
+        for (int i = 0; i < 3; i++) {
+            globalStatusRepository.save(new GlobalStatusEntity(UUID.randomUUID(), LoadFlowStatus.RUNNING, userId, staleSubmissionDate));
+        }
+        assertEquals(5, runAndGetMessagePriority(UUID.randomUUID(), userId, parametersUuid));
+    }
+
+    private Object runAndGetMessagePriority(UUID resultUuid, String userId, UUID parametersUuid) {
+        clearInvocations(notificationService);
+        loadFlowService.runAndSaveResult(LoadFlowRunContext.builder()
+            .resultUuid(resultUuid)
+            .userId(userId)
+            .networkUuid(UUID.randomUUID())
+            .parametersUuid(parametersUuid)
+            .reportInfos(Mockito.mock(ReportInfos.class))
+            .build());
+        ArgumentCaptor<Message<String>> runMessageCaptor = ArgumentCaptor.forClass(Message.class);
+        verify(notificationService).sendRunMessage(runMessageCaptor.capture());
+        assertEquals(LoadFlowStatus.RUNNING, loadFlowResultService.findStatus(resultUuid));
+        return runMessageCaptor.getValue().getHeaders().get("priority");
+    }
+
+    @Test
+    void modificationsAreReadBackFromCompressedAndPlainStorage() {
+        LoadFlowModificationInfos expected = new LoadFlowModificationInfos();
+        expected.add2WTTapPositionValues("twt", 1, 2, TapPositionType.RATIO_TAP);
+        expected.addSCSectionCountValue("shunt", 0, 1);
+
+        BufferedLoadFlowModifications modifications = new BufferedLoadFlowModifications(objectMapper);
+        modifications.add2WTTapPositionValues("twt", 1, 2, TapPositionType.RATIO_TAP);
+        modifications.addSCSectionCountValue("shunt", 0, 1);
+        LoadFlowResult result = new LoadFlowResultImpl(true, Map.of(), null, List.of());
+        try {
+            for (boolean compress : List.of(true, false)) {
+                resultProperties.setCompressModifications(compress);
+                UUID resultUuid = UUID.randomUUID();
+                loadFlowResultService.insert(resultUuid, result, LoadFlowStatus.CONVERGED, modifications, List.of(), null, Map.of(), List.of(), Map.of());
+
+                LoadFlowResultEntity resultEntity = loadFlowResultService.findResults(resultUuid).orElseThrow();
+                assertEquals(compress, resultEntity.getCompressedModifications() != null);
+                assertEquals(compress, resultEntity.getModifications() == null);
+                assertEquals(expected, loadFlowResultService.getLoadFlowModifications(resultUuid));
+                loadFlowResultService.delete(resultUuid);
+            }
+        } finally {
+            resultProperties.setCompressModifications(true);
+        }
+    }
+
+    @Test
+    void streamedModificationsAreReadBackFromCompressedAndPlainStorage() {
+        LoadFlowModificationInfos expected = new LoadFlowModificationInfos();
+        expected.add2WTTapPositionValues("twt", 1, 2, TapPositionType.RATIO_TAP);
+        expected.add2WTTapPositionValues("twt", 3, 4, TapPositionType.PHASE_TAP);
+        expected.addSCSectionCountValue("shunt", 0, 1);
+
+        StreamedLoadFlowModifications modifications = new StreamedLoadFlowModifications(objectMapper);
+        modifications.add2WTTapPositionValues("twt", 1, 2, TapPositionType.RATIO_TAP);
+        modifications.add2WTTapPositionValues("twt", 3, 4, TapPositionType.PHASE_TAP);
+        modifications.addSCSectionCountValue("shunt", 0, 1);
+        assertThrows(IllegalStateException.class, () -> modifications.add2WTTapPositionValues("twt2", 1, 2, TapPositionType.RATIO_TAP));
+
+        LoadFlowResult result = new LoadFlowResultImpl(true, Map.of(), null, List.of());
+        try {
+            for (boolean compress : List.of(true, false)) {
+                resultProperties.setCompressModifications(compress);
+                UUID resultUuid = UUID.randomUUID();
+                loadFlowResultService.insert(resultUuid, result, LoadFlowStatus.CONVERGED, modifications, List.of(), null, Map.of(), List.of(), Map.of());
+                assertEquals(expected, loadFlowResultService.getLoadFlowModifications(resultUuid));
+                loadFlowResultService.delete(resultUuid);
+            }
+        } finally {
+            resultProperties.setCompressModifications(true);
+        }
+        // nothing can be added once the modifications are written
+        assertThrows(IllegalStateException.class, () -> modifications.addSCSectionCountValue("shunt2", 0, 1));
+
+        StreamedLoadFlowModifications emptyModifications = new StreamedLoadFlowModifications(objectMapper);
+        UUID resultUuid = UUID.randomUUID();
+        loadFlowResultService.insert(resultUuid, result, LoadFlowStatus.CONVERGED, emptyModifications, List.of(), null, Map.of(), List.of(), Map.of());
+        assertEquals(new LoadFlowModificationInfos(), loadFlowResultService.getLoadFlowModifications(resultUuid));
+        loadFlowResultService.delete(resultUuid);
+    }
+
+    @Test
+    void streamedModificationsGivenUpAfterAFailureAreClosed() {
+        StreamedLoadFlowModifications modifications = new StreamedLoadFlowModifications(objectMapper);
+        modifications.addSCSectionCountValue("shunt", 0, 1);
+        assertThrows(IllegalStateException.class, () -> modifications.add2WTTapPositionValues("twt", 1, 2, TapPositionType.RATIO_TAP));
+
+        modifications.close();
+        // closing again does nothing, and what was written before the failure is still a complete document
+        modifications.close();
+        LoadFlowModificationInfos expected = new LoadFlowModificationInfos();
+        expected.addSCSectionCountValue("shunt", 0, 1);
+        assertEquals(expected, assertDoesNotThrow(() -> objectMapper.readValue(modifications.toJsonString(), LoadFlowModificationInfos.class)));
+    }
+
+    @Test
+    void limitViolationCountsAreStoredWithTheResult() {
+        UUID resultUuid = UUID.randomUUID();
+        LoadFlowResult result = new LoadFlowResultImpl(true, Map.of(), null, List.of());
+        loadFlowResultService.insert(resultUuid, result, LoadFlowStatus.CONVERGED, null, List.of(),
+            Map.of(LimitViolationType.CURRENT, 12000L, LimitViolationType.HIGH_VOLTAGE, 3L), Map.of(), List.of(), Map.of());
+        assertEquals(Map.of(LimitViolationType.CURRENT, 12000L, LimitViolationType.HIGH_VOLTAGE, 3L), loadFlowResultService.getLimitViolationCounts(resultUuid));
+
+        loadFlowResultService.delete(resultUuid);
+        assertEquals(Map.of(), loadFlowResultService.getLimitViolationCounts(resultUuid));
+    }
+
+    @Test
+    void runWithSameFingerprintReusesStoredResult() {
+        UUID networkUuid = UUID.randomUUID();
+        UUID parametersUuid = UUID.randomUUID();
+        Mockito.when(loadFlowParametersService.getParametersValues(parametersUuid)).thenReturn(
+            LoadFlowParametersValues.builder()
+                .commonParameters(LoadFlowParameters.load())
+                .build()
+        );
+
+        // first run on the network version is computed
+        UUID computedResultUuid = UUID.randomUUID();
+        loadFlowService.runAndSaveResult(createRunContext(computedResultUuid, networkUuid, parametersUuid, "1"));
+        ArgumentCaptor<Message<String>> runMessageCaptor = ArgumentCaptor.forClass(Message.class);
+        verify(notificationService).sendRunMessage(runMessageCaptor.capture());
+        String fingerprint = (String) runMessageCaptor.getValue().getHeaders().get("fingerprint");
+        assertNotNull(fingerprint);
+
+        LoadFlowModificationInfos modificationInfos = new LoadFlowModificationInfos();
+        modificationInfos.addSCSectionCountValue("shunt", 0, 1);
+        BufferedLoadFlowModifications modifications = new BufferedLoadFlowModifications(objectMapper);
+        modifications.addSCSectionCountValue("shunt", 0, 1);
+        loadFlowResultService.insert(computedResultUuid, new LoadFlowResultImpl(true, Map.of(), null, List.of()), LoadFlowStatus.CONVERGED,
+            modifications, List.of(), null, Map.of(), List.of(), Map.of());
+        loadFlowResultService.saveFingerprint(computedResultUuid, fingerprint);
+
+        // same inputs: the stored result is served for the new result UUID without running again
+        UUID reusedResultUuid = UUID.randomUUID();
+        loadFlowService.runAndSaveResult(createRunContext(reusedResultUuid, networkUuid, parametersUuid, "1"));
+        verify(notificationService, times(1)).sendRunMessage(any());
+        verify(notificationService).sendResultMessage(eq(reusedResultUuid), any(), eq("userId"), any());
+        assertEquals(LoadFlowStatus.CONVERGED, loadFlowResultService.findStatus(reusedResultUuid));
+        assertEquals(reusedResultUuid, loadFlowResultService.getResult(reusedResultUuid, null, Sort.unsorted()).getResultUuid());
+        assertEquals(modificationInfos, loadFlowResultService.getLoadFlowModifications(reusedResultUuid));
+
+        // another network version is computed
+        UUID otherVersionResultUuid = UUID.randomUUID();
+        loadFlowService.runAndSaveResult(createRunContext(otherVersionResultUuid, networkUuid, parametersUuid, "2"));
+        verify(notificationService, times(2)).sendRunMessage(any());
+
+        // the stored result is kept until all the result UUIDs it serves are deleted
+        loadFlowResultService.delete(computedResultUuid);
+        assertTrue(loadFlowResultService.findResults(computedResultUuid).isEmpty());
+        assertTrue(loadFlowResultService.findResults(reusedResultUuid).isPresent());
+        loadFlowResultService.delete(reusedResultUuid);
+        assertTrue(loadFlowResultService.findResults(reusedResultUuid).isEmpty());
+        assertTrue(loadFlowResultService.findResults(computedResultUuid).isEmpty());
+        loadFlowResultService.delete(otherVersionResultUuid);
+    }
+
+    private static LoadFlowRunContext createRunContext(UUID resultUuid, UUID networkUuid, UUID parametersUuid, String networkVersion) {
+        return LoadFlowRunContext.builder()
+            .resultUuid(resultUuid)
+            .userId("userId")
+            .networkUuid(networkUuid)
+            .parametersUuid(parametersUuid)
+            .networkVersion(networkVersion)
+            .reportInfos(Mockito.mock(ReportInfos.class))
+            .build();
+    }
 }
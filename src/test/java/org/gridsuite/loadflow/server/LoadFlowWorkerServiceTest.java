@@ -13,12 +13,13 @@ import com.powsybl.iidm.network.test.EurostagTutorialExample1Factory;
 import com.powsybl.loadflow.LoadFlowParameters;
 import com.powsybl.network.store.client.NetworkStoreService;
 import com.powsybl.network.store.iidm.impl.NetworkFactoryImpl;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
 import org.gridsuite.computation.service.AbstractResultContext;
 import org.gridsuite.loadflow.server.dto.LimitViolationInfos;
 import org.gridsuite.loadflow.server.dto.parameters.LoadFlowParametersValues;
-import org.gridsuite.loadflow.server.service.LoadFlowResultService;
-import org.gridsuite.loadflow.server.service.LoadFlowRunContext;
-import org.gridsuite.loadflow.server.service.LoadFlowWorkerService;
+import org.gridsuite.loadflow.server.service.*;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.mockito.InOrder;
@@ -26,7 +27,9 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 
+import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import static org.mockito.Mockito.*;
 
@@ -45,6 +48,18 @@ class LoadFlowWorkerServiceTest {
     @Autowired
     private LoadFlowWorkerService loadFlowWorkerService;
 
+    @Autowired
+    private LoadFlowResultProperties resultProperties;
+
+    @Autowired
+    private LimitReductionService limitReductionService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private ObservationRegistry observationRegistry;
+
     @Test
     void testGetNextLimitName() {
         Network network = EurostagTutorialExample1Factory.createWithFixedCurrentLimits(new NetworkFactoryImpl());
@@ -127,7 +142,177 @@ class LoadFlowWorkerServiceTest {
 
         // Verify results save (flush) is done after inserting results in DB
         InOrder inOrder = inOrder(networkStoreService, loadFlowResultService);
-        inOrder.verify(loadFlowResultService).insert(any(UUID.class), eq(result), any(), any(), any(), any(), any(), any());
+        inOrder.verify(loadFlowResultService).insert(any(UUID.class), eq(result), any(), any(), any(), any(), any(), any(), any());
         inOrder.verify(networkStoreService).flush(resultContext.getRunContext().getNetwork());
     }
+
+    @Test
+    void testDryRunDoesNotApplySolvedValuesNorFlush() {
+        Network network = mock(Network.class);
+        LoadFlowRunContext runContext = mock(LoadFlowRunContext.class);
+        AbstractResultContext<LoadFlowRunContext> resultContext = mock(AbstractResultContext.class);
+        com.powsybl.loadflow.LoadFlowResult result = mock(com.powsybl.loadflow.LoadFlowResult.class);
+        LoadFlowParametersValues parametersValues = mock(LoadFlowParametersValues.class);
+        when(resultContext.getRunContext()).thenReturn(runContext);
+        when(resultContext.getResultUuid()).thenReturn(UUID.randomUUID());
+        when(runContext.isApplySolvedValues()).thenReturn(true);
+        when(runContext.isDryRun()).thenReturn(true);
+        when(runContext.getNetwork()).thenReturn(network);
+        when(runContext.buildParameters()).thenReturn(mock(LoadFlowParameters.class));
+        when(runContext.getParameters()).thenReturn(parametersValues);
+        when(parametersValues.getLimitReduction()).thenReturn(0.8f);
+        when(result.isFailed()).thenReturn(false);
+
+        loadFlowWorkerService.saveResult(network, resultContext, result);
+
+        // results are saved without any modification, and the network is not written back to the store
+        verify(loadFlowResultService).insert(any(UUID.class), eq(result), any(), isNull(), any(), any(), any(), any(), any());
+        verify(network, never()).getTwoWindingsTransformerStream();
+        verify(network, never()).getShuntCompensatorStream();
+        verify(networkStoreService, never()).flush(any());
+    }
+
+    @Test
+    void testConcurrentSaveWaitsForInsertAndFlush() {
+        Network network = mock(Network.class);
+        LoadFlowRunContext runContext = mock(LoadFlowRunContext.class);
+        AbstractResultContext<LoadFlowRunContext> resultContext = mock(AbstractResultContext.class);
+        com.powsybl.loadflow.LoadFlowResult result = mock(com.powsybl.loadflow.LoadFlowResult.class);
+        LoadFlowParametersValues parametersValues = mock(LoadFlowParametersValues.class);
+        when(resultContext.getRunContext()).thenReturn(runContext);
+        when(resultContext.getResultUuid()).thenReturn(UUID.randomUUID());
+        when(runContext.getNetwork()).thenReturn(network);
+        when(runContext.buildParameters()).thenReturn(mock(LoadFlowParameters.class));
+        when(runContext.getParameters()).thenReturn(parametersValues);
+        when(parametersValues.getLimitReduction()).thenReturn(0.8f);
+        when(result.isFailed()).thenReturn(false);
+
+        resultProperties.setConcurrentSave(true);
+        try {
+            loadFlowWorkerService.saveResult(network, resultContext, result);
+            verify(loadFlowResultService).insert(any(UUID.class), eq(result), any(), any(), any(), any(), any(), any(), any());
+            verify(networkStoreService).flush(network);
+
+            // a failed flush fails the save once the insertion is done
+            doThrow(new IllegalStateException("flush failed")).when(networkStoreService).flush(network);
+            Assertions.assertThrows(IllegalStateException.class, () -> loadFlowWorkerService.saveResult(network, resultContext, result));
+            verify(loadFlowResultService, times(2)).insert(any(UUID.class), eq(result), any(), any(), any(), any(), any(), any(), any());
+
+            // as well as a failed insertion
+            reset(networkStoreService);
+            doThrow(new IllegalStateException("insert failed")).when(loadFlowResultService).insert(any(UUID.class), eq(result), any(), any(), any(), any(), any(), any(), any());
+            Assertions.assertThrows(IllegalStateException.class, () -> loadFlowWorkerService.saveResult(network, resultContext, result));
+            verify(networkStoreService).flush(network);
+        } finally {
+            resultProperties.setConcurrentSave(false);
+        }
+    }
+
+    @Test
+    void testConcurrentSaveRunsOnVirtualThreadsWithinTheRunObservation() {
+        Network network = mock(Network.class);
+        LoadFlowRunContext runContext = mock(LoadFlowRunContext.class);
+        AbstractResultContext<LoadFlowRunContext> resultContext = mock(AbstractResultContext.class);
+        com.powsybl.loadflow.LoadFlowResult result = mock(com.powsybl.loadflow.LoadFlowResult.class);
+        LoadFlowParametersValues parametersValues = mock(LoadFlowParametersValues.class);
+        when(resultContext.getRunContext()).thenReturn(runContext);
+        when(resultContext.getResultUuid()).thenReturn(UUID.randomUUID());
+        when(runContext.getNetwork()).thenReturn(network);
+        when(runContext.buildParameters()).thenReturn(mock(LoadFlowParameters.class));
+        when(runContext.getParameters()).thenReturn(parametersValues);
+        when(parametersValues.getLimitReduction()).thenReturn(0.8f);
+        when(result.isFailed()).thenReturn(false);
+        List<Boolean> virtualThreads = new CopyOnWriteArrayList<>();
+        List<Observation> observations = new CopyOnWriteArrayList<>();
+        doAnswer(invocation -> {
+            virtualThreads.add(Thread.currentThread().isVirtual());
+            return observations.add(observationRegistry.getCurrentObservation());
+        }).when(loadFlowResultService).insert(any(UUID.class), eq(result), any(), any(), any(), any(), any(), any(), any());
+        doAnswer(invocation -> {
+            virtualThreads.add(Thread.currentThread().isVirtual());
+            return observations.add(observationRegistry.getCurrentObservation());
+        }).when(networkStoreService).flush(network);
+
+        Observation runObservation = Observation.start("loadflow.run", observationRegistry);
+        try (Observation.Scope ignored = runObservation.openScope()) {
+            // a sequential save stays on the consumer thread
+            loadFlowWorkerService.saveResult(network, resultContext, result);
+            Assertions.assertEquals(List.of(false, false), virtualThreads);
+
+            resultProperties.setConcurrentSave(true);
+            virtualThreads.clear();
+            loadFlowWorkerService.saveResult(network, resultContext, result);
+            Assertions.assertEquals(List.of(true, true), virtualThreads);
+        } finally {
+            resultProperties.setConcurrentSave(false);
+            runObservation.stop();
+        }
+
+        // the insertion and the flush are observed within the run, whatever their thread
+        Assertions.assertEquals(4, observations.size());
+        observations.forEach(observation -> {
+            while (observation != null && observation != runObservation) {
+                observation = observation.getContextView().getParentObservation();
+            }
+            Assertions.assertSame(runObservation, observation);
+        });
+    }
+
+    @Test
+    void testLimitReductionsAreBuiltOncePerSet() {
+        Network network = EurostagTutorialExample1Factory.createWithFixedCurrentLimits(new NetworkFactoryImpl());
+        LoadFlowRunContext runContext = mock(LoadFlowRunContext.class);
+        AbstractResultContext<LoadFlowRunContext> resultContext = mock(AbstractResultContext.class);
+        com.powsybl.loadflow.LoadFlowResult result = mock(com.powsybl.loadflow.LoadFlowResult.class);
+        LoadFlowParametersValues parametersValues = mock(LoadFlowParametersValues.class);
+        when(resultContext.getRunContext()).thenReturn(runContext);
+        when(resultContext.getResultUuid()).thenReturn(UUID.randomUUID());
+        when(runContext.getNetwork()).thenReturn(network);
+        when(runContext.getProvider()).thenReturn("OpenLoadFlow");
+        when(runContext.buildParameters()).thenReturn(new LoadFlowParameters());
+        when(runContext.getParameters()).thenReturn(parametersValues);
+        when(parametersValues.getLimitReductions()).thenReturn(limitReductionService.createDefaultLimitReductions());
+        when(result.isFailed()).thenReturn(false);
+        double misses = getLimitReductionsCacheGets("miss");
+        double hits = getLimitReductionsCacheGets("hit");
+
+        loadFlowWorkerService.saveResult(network, resultContext, result);
+        loadFlowWorkerService.saveResult(network, resultContext, result);
+
+        // the second run wraps the reductions built for the first one in its own applier
+        Assertions.assertEquals(misses + 1, getLimitReductionsCacheGets("miss"));
+        Assertions.assertEquals(hits + 1, getLimitReductionsCacheGets("hit"));
+        verify(loadFlowResultService, times(2)).insert(any(UUID.class), eq(result), any(), any(), any(), any(), any(), any(), any());
+    }
+
+    private double getLimitReductionsCacheGets(String result) {
+        return meterRegistry.get("cache.gets").tags("cache", "loadflow.limit-reductions", "result", result).functionCounter().count();
+    }
+
+    @Test
+    void testKeepMostSevereLimitViolations() {
+        List<LimitViolationInfos> limitViolations = List.of(
+            createLimitViolation("line1", LimitViolationType.CURRENT, 1000D, 1100D),
+            createLimitViolation("line2", LimitViolationType.CURRENT, 1000D, 1500D),
+            createLimitViolation("vl1", LimitViolationType.HIGH_VOLTAGE, 400D, 401D),
+            createLimitViolation("line3", LimitViolationType.CURRENT, 500D, 600D),
+            createLimitViolation("vl2", LimitViolationType.LOW_VOLTAGE, 380D, 340D),
+            createLimitViolation("vl3", LimitViolationType.LOW_VOLTAGE, 380D, 370D),
+            createLimitViolation("vl4", LimitViolationType.HIGH_VOLTAGE, 400D, 440D));
+
+        // the highest overload and the largest low and high voltage deviations are kept, in their original order
+        List<String> kept = LoadFlowWorkerService.keepMostSevereLimitViolations(limitViolations, 1).stream().map(LimitViolationInfos::getSubjectId).toList();
+        Assertions.assertEquals(List.of("line2", "vl2", "vl4"), kept);
+        kept = LoadFlowWorkerService.keepMostSevereLimitViolations(limitViolations, 2).stream().map(LimitViolationInfos::getSubjectId).toList();
+        Assertions.assertEquals(List.of("line2", "vl1", "line3", "vl2", "vl3", "vl4"), kept);
+    }
+
+    private static LimitViolationInfos createLimitViolation(String subjectId, LimitViolationType limitType, double limit, double value) {
+        return LimitViolationInfos.builder()
+            .subjectId(subjectId)
+            .limitType(limitType)
+            .limit(limit)
+            .value(value)
+            .build();
+    }
 }
@@ -216,4 +216,83 @@ final class Networks {
 
         return network;
     }
+
+    /**
+     * Meshed 400 kV network of {@code busCount} buses (one substation per bus, split between two countries): buses are
+     * chained in a ring with a chord every 10 buses, every bus has a load and every 5th bus a voltage regulating generator.
+     * Line current limits and voltage limits are tight enough to produce violations.
+     */
+    static Network createMeshedNetwork(String prefix, int busCount) {
+        Network network = new NetworkFactoryImpl().createNetwork(prefix + "network", "test");
+        for (int i = 0; i < busCount; i++) {
+            Substation substation = network.newSubstation()
+                    .setId(prefix + "S" + i)
+                    .setCountry(i < busCount / 2 ? Country.FR : Country.BE)
+                    .add();
+            VoltageLevel vl = substation.newVoltageLevel()
+                    .setId(prefix + "VL" + i)
+                    .setNominalV(400.0)
+                    .setLowVoltageLimit(395.0)
+                    .setHighVoltageLimit(410.0)
+                    .setTopologyKind(TopologyKind.BUS_BREAKER)
+                    .add();
+            String busId = vl.getBusBreakerView().newBus()
+                    .setId(prefix + "B" + i)
+                    .add()
+                    .getId();
+            vl.newLoad()
+                    .setId(prefix + "LOAD" + i)
+                    .setBus(busId)
+                    .setConnectableBus(busId)
+                    .setP0(100.0)
+                    .setQ0(30.0)
+                    .add();
+            if (i % 5 == 0) {
+                vl.newGenerator()
+                        .setId(prefix + "GEN" + i)
+                        .setBus(busId)
+                        .setConnectableBus(busId)
+                        .setMinP(0.0)
+                        .setMaxP(2000.0)
+                        .setVoltageRegulatorOn(true)
+                        .setTargetV(405.0)
+                        .setTargetP(500.0)
+                        .setTargetQ(0.0)
+                        .add();
+            }
+        }
+        for (int i = 0; i < busCount; i++) {
+            addMeshedLine(network, prefix, i, (i + 1) % busCount);
+            if (i % 10 == 0 && busCount > 20) {
+                addMeshedLine(network, prefix, i, (i + busCount / 2) % busCount);
+            }
+        }
+        return network;
+    }
+
+    private static void addMeshedLine(Network network, String prefix, int from, int to) {
+        Line line = network.newLine()
+                .setId(prefix + "L" + from + "_" + to)
+                .setVoltageLevel1(prefix + "VL" + from)
+                .setBus1(prefix + "B" + from)
+                .setConnectableBus1(prefix + "B" + from)
+                .setVoltageLevel2(prefix + "VL" + to)
+                .setBus2(prefix + "B" + to)
+                .setConnectableBus2(prefix + "B" + to)
+                .setR(1.0)
+                .setX(10.0)
+                .setG1(0.0)
+                .setB1(0.0)
+                .setG2(0.0)
+                .setB2(0.0)
+                .add();
+        line.newCurrentLimits1()
+                .setPermanentLimit(200.0)
+                .beginTemporaryLimit()
+                .setName("10'")
+                .setAcceptableDuration(600)
+                .setValue(300.0)
+                .endTemporaryLimit()
+                .add();
+    }
 }
@@ -0,0 +1,106 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.loadflow.server;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.core.Queue;
+import org.springframework.amqp.core.QueueBuilder;
+import org.springframework.amqp.rabbit.connection.CachingConnectionFactory;
+import org.springframework.amqp.rabbit.core.RabbitAdmin;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.integration.amqp.support.DefaultAmqpHeaderMapper;
+import org.springframework.messaging.MessageHeaders;
+import org.testcontainers.containers.RabbitMQContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks on a RabbitMQ 4 broker that the priority given by {@code LoadFlowService} to the run messages
+ * lets the runs of the other users overtake the runs of a user with too many runs on a quorum queue.
+ *
+ * @author Anis Touri <anis.touri at rte-france.com>
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class RunPriorityOrderingTest {
+
+    private static final String RUN_QUEUE = "loadflow.run.loadflowGroup";
+    private static final int NORMAL_PRIORITY = 5;
+    private static final int LOW_PRIORITY = 0;
+
+    @Container
+    private static final RabbitMQContainer RABBITMQ = new RabbitMQContainer("rabbitmq:4.1");
+
+    private CachingConnectionFactory connectionFactory;
+    private RabbitTemplate rabbitTemplate;
+
+    @BeforeEach
+    void setUp() {
+        connectionFactory = new CachingConnectionFactory(RABBITMQ.getHost(), RABBITMQ.getAmqpPort());
+        connectionFactory.setUsername(RABBITMQ.getAdminUsername());
+        connectionFactory.setPassword(RABBITMQ.getAdminPassword());
+        connectionFactory.setPublisherConfirmType(CachingConnectionFactory.ConfirmType.SIMPLE);
+        Queue runQueue = QueueBuilder.durable(RUN_QUEUE).quorum().build();
+        new RabbitAdmin(connectionFactory).declareQueue(runQueue);
+        rabbitTemplate = new RabbitTemplate(connectionFactory);
+    }
+
+    @AfterEach
+    void tearDown() {
+        new RabbitAdmin(connectionFactory).deleteQueue(RUN_QUEUE);
+        connectionFactory.destroy();
+    }
+
+    @Test
+    void runsOfTheOtherUsersOvertakeTheHeldBackRunsOfABusyUser() {
+        // the busy user submits 8 runs: the first 2 at the normal priority, the next ones held back
+        List<Message> messages = new ArrayList<>();
+        for (int i = 1; i <= 8; i++) {
+            messages.add(runMessage("busy" + i, i <= 2 ? NORMAL_PRIORITY : LOW_PRIORITY));
+        }
+        for (int i = 1; i <= 4; i++) {
+            messages.add(runMessage("other" + i, NORMAL_PRIORITY));
+        }
+        rabbitTemplate.invoke(operations -> {
+            messages.forEach(message -> operations.send(RUN_QUEUE, message));
+            operations.waitForConfirmsOrDie(Duration.ofSeconds(10).toMillis());
+            return null;
+        });
+
+        List<String> consumedRuns = new ArrayList<>();
+        Message message;
+        while ((message = rabbitTemplate.receive(RUN_QUEUE, Duration.ofSeconds(5).toMillis())) != null) {
+            consumedRuns.add(new String(message.getBody(), StandardCharsets.UTF_8));
+        }
+
+        assertThat(consumedRuns).hasSize(12);
+        // without priorities the 4 runs of the other user would come after the 8 runs of the busy user: the broker
+        // interleaves the low priority runs with the normal ones to avoid starvation, so only the last ones are overtaken
+        int lastOtherRunIndex = consumedRuns.indexOf("other4");
+        assertThat(consumedRuns.subList(0, lastOtherRunIndex)).containsSubsequence("other1", "other2", "other3");
+        assertThat(consumedRuns.subList(lastOtherRunIndex + 1, consumedRuns.size())).contains("busy6", "busy7", "busy8");
+    }
+
+    private static Message runMessage(String run, int priority) {
+        // the priority header is mapped to the AMQP priority by the header mapper of the rabbit binder
+        MessageProperties properties = new MessageProperties();
+        DefaultAmqpHeaderMapper.outboundMapper().fromHeadersToRequest(new MessageHeaders(Map.of("priority", priority)), properties);
+        assertThat(properties.getPriority()).isEqualTo(priority);
+        return new Message(run.getBytes(StandardCharsets.UTF_8), properties);
+    }
+}